@@ -1,11 +1,18 @@
 package com.ctltierlist.tiertagger;
 
 import com.ctltierlist.tiertagger.cache.OverallCache;
+import com.ctltierlist.tiertagger.client.gui.LeaderboardScreen;
 import com.ctltierlist.tiertagger.client.gui.PlayerSearchScreen;
+import com.ctltierlist.tiertagger.client.render.ApiDebugOverlay;
+import com.ctltierlist.tiertagger.client.util.PlayerPrefetcher;
+import com.ctltierlist.tiertagger.client.util.SkinDiskCache;
+import com.ctltierlist.tiertagger.client.util.UuidResolver;
 import com.ctltierlist.tiertagger.config.ModConfig;
 import net.fabricmc.api.ClientModInitializer;
 import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
 import net.fabricmc.fabric.api.client.keybinding.v1.KeyBindingHelper;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayConnectionEvents;
+import net.fabricmc.fabric.api.client.rendering.v1.HudRenderCallback;
 import net.fabricmc.loader.api.FabricLoader;
 import net.minecraft.client.option.KeyBinding;
 import net.minecraft.client.util.InputUtil;
@@ -15,6 +22,12 @@ import org.lwjgl.glfw.GLFW;
 public class CTLTierTaggerClient implements ClientModInitializer {
     private static KeyBinding gamemodeKeybind;
     private static KeyBinding searchKeybind;
+    private static KeyBinding leaderboardKeybind;
+    // Last seen look direction and position, for idle detection
+    private static float lastYaw;
+    private static float lastPitch;
+    private static double lastX;
+    private static double lastZ;
     
     @Override
     public void onInitializeClient() {
@@ -26,6 +39,12 @@ public class CTLTierTaggerClient implements ClientModInitializer {
         // Initialize overall cache (downloads /rankings/overall on startup)
         OverallCache.init(FabricLoader.getInstance().getConfigDir());
         
+        // Initialize persistent skin/head cache (warm loads skip the network)
+        SkinDiskCache.init(FabricLoader.getInstance().getConfigDir());
+        
+        // Initialize persistent name -> UUID cache for batched Mojang lookups
+        UuidResolver.init(FabricLoader.getInstance().getConfigDir());
+        
         // Register gamemode keybind
         gamemodeKeybind = KeyBindingHelper.registerKeyBinding(new KeyBinding(
             "key.ctl-tiertagger.cycle_gamemode",
@@ -42,8 +61,41 @@ public class CTLTierTaggerClient implements ClientModInitializer {
             "category.ctl-tiertagger.controls"
         ));
         
+        // Register leaderboard keybind (unbound by default)
+        leaderboardKeybind = KeyBindingHelper.registerKeyBinding(new KeyBinding(
+            "key.ctl-tiertagger.open_leaderboard",
+            InputUtil.Type.KEYSYM,
+            GLFW.GLFW_KEY_UNKNOWN,
+            "category.ctl-tiertagger.controls"
+        ));
+        
+        // Leaderboard refreshes only run while a world is loaded
+        ClientPlayConnectionEvents.JOIN.register((handler, sender, client) -> OverallCache.onWorldJoin());
+        ClientPlayConnectionEvents.DISCONNECT.register((handler, client) -> {
+            OverallCache.onWorldLeave();
+            PlayerPrefetcher.reset();
+        });
+        
+        // API circuit breaker state, shown in debug mode
+        HudRenderCallback.EVENT.register(ApiDebugOverlay::render);
+        
         // Register keybind handlers
         ClientTickEvents.END_CLIENT_TICK.register(client -> {
+            // Looking around or moving counts as activity; refreshes pause while idle
+            if (client.player != null) {
+                float yaw = client.player.getYaw();
+                float pitch = client.player.getPitch();
+                double x = client.player.getX();
+                double z = client.player.getZ();
+                if (yaw != lastYaw || pitch != lastPitch || x != lastX || z != lastZ) {
+                    lastYaw = yaw;
+                    lastPitch = pitch;
+                    lastX = x;
+                    lastZ = z;
+                    OverallCache.onPlayerActivity();
+                }
+            }
+            
             // Gamemode cycle
             while (gamemodeKeybind.wasPressed()) {
                 ModConfig.cycleGamemode();
@@ -61,6 +113,13 @@ public class CTLTierTaggerClient implements ClientModInitializer {
                     client.setScreen(new PlayerSearchScreen(null));
                 }
             }
+            
+            // Open leaderboard screen
+            while (leaderboardKeybind.wasPressed()) {
+                if (client.currentScreen == null) {
+                    client.setScreen(new LeaderboardScreen(null));
+                }
+            }
         });
         
         CTLTierTagger.LOGGER.info("CTL TierTagger Client initialized!");
@@ -1,13 +1,18 @@
 package com.ctltierlist.tiertagger.client.gui;
 
+import com.ctltierlist.tiertagger.client.util.TextureUploadQueue;
 import net.minecraft.client.gui.DrawContext;
 import net.minecraft.client.gui.screen.Screen;
 import net.minecraft.client.gui.widget.ButtonWidget;
 import net.minecraft.client.gui.widget.TextFieldWidget;
+import net.minecraft.client.texture.NativeImage;
+import net.minecraft.client.texture.NativeImageBackedTexture;
 import net.minecraft.text.Text;
 import net.minecraft.util.Colors;
+import net.minecraft.util.Identifier;
 import net.minecraft.util.math.MathHelper;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 public class ColorPickerScreen extends Screen {
@@ -33,6 +38,14 @@ public class ColorPickerScreen extends Screen {
     private boolean draggingSatBright = false;
     private boolean draggingHue = false;
     private boolean updatingFields = false;
+    
+    // Picker gradients are cached in textures and only regenerated when the hue changes
+    private static final Identifier FIELD_TEXTURE_ID = Identifier.of("ctl-tiertagger", "color_picker/field");
+    private static final Identifier HUE_TEXTURE_ID = Identifier.of("ctl-tiertagger", "color_picker/hue");
+    private NativeImageBackedTexture fieldTexture;
+    private NativeImageBackedTexture hueTexture;
+    private float fieldHue = -1;
+    private boolean fieldUpdatePending = false;
 
     public ColorPickerScreen(Screen parent, int initialColor, Consumer<Integer> onColorSelected) {
         super(Text.literal("Pick a Color"));
@@ -49,6 +62,8 @@ public class ColorPickerScreen extends Screen {
         pickerY = 60;
         hueBarX = pickerX + PICKER_SIZE + 15;
         
+        this.createPickerTextures();
+        
         // Hex input
         this.hexInput = new TextFieldWidget(this.textRenderer, centerX - 100, pickerY + PICKER_SIZE + 20, 200, 20, Text.literal("Hex"));
         this.hexInput.setMaxLength(7);
@@ -158,19 +173,10 @@ public class ColorPickerScreen extends Screen {
     }
     
     private void renderSaturationBrightnessPicker(DrawContext context) {
-        // Get base color from hue
-        int baseColor = hsbToRgb(this.hue, 1f, 1f);
+        this.requestFieldUpdate();
         
-        // Draw gradient (brightness vertical, saturation horizontal)
-        for (int y = 0; y < PICKER_SIZE; y++) {
-            for (int x = 0; x < PICKER_SIZE; x++) {
-                float sat = x / (float) PICKER_SIZE;
-                float bright = 1f - (y / (float) PICKER_SIZE);
-                
-                int color = hsbToRgb(this.hue, sat, bright);
-                context.fill(pickerX + x, pickerY + y, pickerX + x + 1, pickerY + y + 1, 0xFF000000 | color);
-            }
-        }
+        // Draw cached gradient (brightness vertical, saturation horizontal) as one quad
+        context.drawTexture(FIELD_TEXTURE_ID, pickerX, pickerY, 0, 0, PICKER_SIZE, PICKER_SIZE, PICKER_SIZE, PICKER_SIZE);
         
         // Draw selector circle
         int selectorX = pickerX + (int) (this.saturation * PICKER_SIZE);
@@ -180,17 +186,87 @@ public class ColorPickerScreen extends Screen {
     }
     
     private void renderHueBar(DrawContext context) {
-        // Draw hue gradient
-        for (int y = 0; y < PICKER_SIZE; y++) {
-            float h = y / (float) PICKER_SIZE;
-            int color = hsbToRgb(h, 1f, 1f);
-            context.fill(hueBarX, pickerY + y, hueBarX + HUE_BAR_WIDTH, pickerY + y + 1, 0xFF000000 | color);
-        }
+        // Draw cached hue gradient
+        context.drawTexture(HUE_TEXTURE_ID, hueBarX, pickerY, 0, 0, HUE_BAR_WIDTH, PICKER_SIZE, HUE_BAR_WIDTH, PICKER_SIZE);
         
         // Draw selector
         int selectorY = pickerY + (int) (this.hue * PICKER_SIZE);
         context.fill(hueBarX - 2, selectorY - 1, hueBarX + HUE_BAR_WIDTH + 2, selectorY + 2, 0xFFFFFFFF);
     }
+    
+    private void createPickerTextures() {
+        if (this.client == null || this.fieldTexture != null) {
+            return;
+        }
+        
+        // Hue bar never changes
+        NativeImage hueImage = new NativeImage(HUE_BAR_WIDTH, PICKER_SIZE, false);
+        for (int y = 0; y < PICKER_SIZE; y++) {
+            int color = toAbgr(hsbToRgb(y / (float) PICKER_SIZE, 1f, 1f));
+            for (int x = 0; x < HUE_BAR_WIDTH; x++) {
+                hueImage.setColor(x, y, color);
+            }
+        }
+        this.hueTexture = new NativeImageBackedTexture(hueImage);
+        this.client.getTextureManager().registerTexture(HUE_TEXTURE_ID, this.hueTexture);
+        
+        // First field is built synchronously so the picker never shows empty
+        this.fieldHue = this.hue;
+        this.fieldTexture = new NativeImageBackedTexture(createFieldImage(this.hue));
+        this.client.getTextureManager().registerTexture(FIELD_TEXTURE_ID, this.fieldTexture);
+    }
+    
+    /**
+     * Regenerate the saturation/brightness field off-thread when the hue has changed.
+     * Only one job runs at a time; a newer hue is picked up when it finishes.
+     */
+    private void requestFieldUpdate() {
+        if (this.fieldUpdatePending || this.fieldTexture == null || this.fieldHue == this.hue) {
+            return;
+        }
+        
+        float targetHue = this.hue;
+        this.fieldUpdatePending = true;
+        CompletableFuture.supplyAsync(() -> createFieldImage(targetHue))
+            .thenAccept(image -> TextureUploadQueue.submit(() -> {
+                this.fieldUpdatePending = false;
+                if (this.fieldTexture == null) {
+                    image.close(); // Screen closed in the meantime
+                    return null;
+                }
+                this.fieldTexture.setImage(image);
+                this.fieldTexture.upload();
+                this.fieldHue = targetHue;
+                return null;
+            }));
+    }
+    
+    private static NativeImage createFieldImage(float hue) {
+        NativeImage image = new NativeImage(PICKER_SIZE, PICKER_SIZE, false);
+        for (int y = 0; y < PICKER_SIZE; y++) {
+            float bright = 1f - (y / (float) PICKER_SIZE);
+            for (int x = 0; x < PICKER_SIZE; x++) {
+                float sat = x / (float) PICKER_SIZE;
+                image.setColor(x, y, toAbgr(hsbToRgb(hue, sat, bright)));
+            }
+        }
+        return image;
+    }
+    
+    private static int toAbgr(int rgb) {
+        return 0xFF000000 | ((rgb & 0xFF) << 16) | (rgb & 0xFF00) | ((rgb >> 16) & 0xFF);
+    }
+    
+    @Override
+    public void removed() {
+        super.removed();
+        if (this.client != null) {
+            this.client.getTextureManager().destroyTexture(FIELD_TEXTURE_ID);
+            this.client.getTextureManager().destroyTexture(HUE_TEXTURE_ID);
+        }
+        this.fieldTexture = null;
+        this.hueTexture = null;
+    }
 
     @Override
     public boolean mouseClicked(double mouseX, double mouseY, int button) {
@@ -0,0 +1,498 @@
+package com.ctltierlist.tiertagger.client.gui;
+
+import com.ctltierlist.tiertagger.CTLTierTagger;
+import com.ctltierlist.tiertagger.api.Tier;
+import com.ctltierlist.tiertagger.api.TierListAPI;
+import com.ctltierlist.tiertagger.cache.LeaderboardSnapshot;
+import com.ctltierlist.tiertagger.cache.OverallCache;
+import com.ctltierlist.tiertagger.cache.TierIndex;
+import com.ctltierlist.tiertagger.client.render.HeadAtlas;
+import com.ctltierlist.tiertagger.client.util.SkinLoader;
+import com.ctltierlist.tiertagger.config.ModConfig;
+import net.minecraft.client.gui.DrawContext;
+import net.minecraft.client.gui.screen.Screen;
+import net.minecraft.client.gui.widget.ButtonWidget;
+import net.minecraft.screen.ScreenTexts;
+import net.minecraft.text.Text;
+import net.minecraft.util.Formatting;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Scrollable browser over the whole cached leaderboard.
+ * Only rows inside the viewport are laid out and drawn; their Texts come from a small
+ * pool recycled as rows scroll by, and heads are requested a few rows ahead of the viewport.
+ * Gamemode and region filters are computed off-thread against an immutable snapshot.
+ */
+public class LeaderboardScreen extends Screen {
+    private static final int ROW_HEIGHT = 20;
+    private static final int HEAD_SIZE = 16;
+    private static final int LIST_WIDTH = 320;
+    private static final int SCROLLBAR_WIDTH = 6;
+    private static final int HEAD_LOOKAHEAD_ROWS = 8;
+    private static final int HEAD_REQUESTS_PER_TICK = 2;
+
+    private final Screen parent;
+    // Snapshot the shown rows refer to, and the one the latest filter runs against
+    private LeaderboardSnapshot snapshot;
+    private LeaderboardSnapshot filterSource;
+
+    // Filter state; null means "All"
+    private final List<String> gamemodes = new ArrayList<>();
+    private final List<String> regions = new ArrayList<>();
+    private int gamemodeIndex = 0;
+    private int regionIndex = 0;
+    private ButtonWidget gamemodeButton;
+    private ButtonWidget regionButton;
+
+    // Ordinals of the rows currently shown, in display order
+    private int[] rows = new int[0];
+    private boolean filtering = false;
+    private int filterGeneration = 0;
+
+    // Recycled row Texts, indexed by row % pool size
+    private RowText[] rowPool = new RowText[0];
+    private int rowVersion = 0;
+
+    private final Set<String> requestedHeads = new HashSet<>();
+    private double scrollY = 0;
+    private boolean draggingScrollbar = false;
+    private boolean openingProfile = false;
+    private int listTop;
+    private int listBottom;
+    private int listLeft;
+    private int listRight;
+
+    public LeaderboardScreen(Screen parent) {
+        super(Text.literal("Leaderboard"));
+        this.parent = parent;
+        this.snapshot = OverallCache.getSnapshot();
+        this.gamemodes.add(null);
+        this.gamemodes.addAll(Arrays.asList(ModConfig.getAvailableGamemodes()));
+        this.regions.add(null);
+    }
+
+    @Override
+    protected void init() {
+        int centerX = this.width / 2;
+        this.listLeft = centerX - LIST_WIDTH / 2;
+        this.listRight = centerX + LIST_WIDTH / 2;
+        this.listTop = 48;
+        this.listBottom = this.height - 34;
+
+        this.gamemodeButton = ButtonWidget.builder(gamemodeLabel(), button -> {
+            this.gamemodeIndex = (this.gamemodeIndex + 1) % this.gamemodes.size();
+            button.setMessage(gamemodeLabel());
+            this.applyFilter();
+        }).dimensions(centerX - 155, 22, 150, 20).build();
+        this.addDrawableChild(this.gamemodeButton);
+
+        this.regionButton = ButtonWidget.builder(regionLabel(), button -> {
+            this.regionIndex = (this.regionIndex + 1) % this.regions.size();
+            button.setMessage(regionLabel());
+            this.applyFilter();
+        }).dimensions(centerX + 5, 22, 150, 20).build();
+        this.addDrawableChild(this.regionButton);
+
+        this.addDrawableChild(ButtonWidget.builder(
+            ScreenTexts.DONE,
+            button -> this.close()
+        ).dimensions(centerX - 100, this.height - 27, 200, 20).build());
+
+        // Enough pooled rows to cover the viewport plus a partial row at each edge
+        int poolSize = (this.listBottom - this.listTop) / ROW_HEIGHT + 2;
+        if (this.rowPool.length != poolSize) {
+            this.rowPool = new RowText[poolSize];
+            for (int i = 0; i < poolSize; i++) {
+                this.rowPool[i] = new RowText();
+            }
+        }
+
+        if (this.regions.size() == 1) {
+            this.loadRegions(this.snapshot);
+        }
+        this.applyFilter();
+    }
+
+    private Text gamemodeLabel() {
+        String gamemode = this.gamemodes.get(this.gamemodeIndex);
+        return Text.literal("Gamemode: " + (gamemode != null ? gamemode : "All"));
+    }
+
+    private Text regionLabel() {
+        String region = this.regions.get(this.regionIndex);
+        return Text.literal("Region: " + (region != null ? region : "All"));
+    }
+
+    /**
+     * Refill the region choices from a snapshot's region dictionary
+     */
+    private void loadRegions(LeaderboardSnapshot source) {
+        String selected = this.regions.get(this.regionIndex);
+        this.regions.subList(1, this.regions.size()).clear();
+        this.regions.addAll(source.getRegions());
+        this.regionIndex = Math.max(0, this.regions.indexOf(selected));
+        if (this.regionButton != null) {
+            this.regionButton.setMessage(regionLabel());
+        }
+    }
+
+    /**
+     * Recompute the visible ordinals for the current filters off-thread
+     */
+    private void applyFilter() {
+        int generation = ++this.filterGeneration;
+        LeaderboardSnapshot source = OverallCache.getSnapshot();
+        this.filterSource = source;
+        String gamemode = this.gamemodes.get(this.gamemodeIndex);
+        String region = this.regions.get(this.regionIndex);
+        this.filtering = true;
+
+        CompletableFuture.supplyAsync(() -> filterRows(source, gamemode, region))
+            .thenAccept(result -> {
+                if (this.client != null) {
+                    this.client.execute(() -> {
+                        // A newer filter or snapshot superseded this one
+                        if (generation != this.filterGeneration) {
+                            return;
+                        }
+                        // Rows and snapshot are swapped together so ordinals always match
+                        this.snapshot = source;
+                        this.rows = result;
+                        this.filtering = false;
+                        this.rowVersion++;
+                        this.scrollY = Math.min(this.scrollY, maxScroll());
+                    });
+                }
+            })
+            .exceptionally(throwable -> {
+                CTLTierTagger.LOGGER.error("Leaderboard filter failed: {}", throwable.getMessage());
+                return null;
+            });
+    }
+
+    /**
+     * Ordinals matching the filters. With a gamemode selected, rows come from that
+     * gamemode's tier index (tier, then overall rank); otherwise they are in overall rank order.
+     */
+    private static int[] filterRows(LeaderboardSnapshot source, String gamemode, String region) {
+        BitSet members = region != null ? source.getRegionMembers(region) : null;
+        if (gamemode != null) {
+            TierIndex index = source.getTierIndex(gamemode);
+            if (index == null) {
+                return new int[0];
+            }
+            int[] ordinals = index.toArray();
+            if (members == null) {
+                return ordinals;
+            }
+            int count = 0;
+            for (int ordinal : ordinals) {
+                if (members.get(ordinal)) {
+                    ordinals[count++] = ordinal;
+                }
+            }
+            return Arrays.copyOf(ordinals, count);
+        }
+
+        if (members == null) {
+            int[] all = new int[source.size()];
+            for (int ordinal = 0; ordinal < all.length; ordinal++) {
+                all[ordinal] = ordinal;
+            }
+            return all;
+        }
+        // Set bits are already in rank order
+        return members.stream().toArray();
+    }
+
+    @Override
+    public void tick() {
+        super.tick();
+
+        // Re-filter against a newer snapshot, keeping the scroll position
+        LeaderboardSnapshot latest = OverallCache.getSnapshot();
+        if (latest != this.snapshot && latest != this.filterSource) {
+            this.loadRegions(latest);
+            this.applyFilter();
+        }
+
+        this.requestHeads();
+    }
+
+    /**
+     * Request heads for rows in and just around the viewport, nearest first, a few per tick
+     */
+    private void requestHeads() {
+        int first = firstVisibleRow();
+        int last = lastVisibleRow();
+        int from = Math.max(0, first - HEAD_LOOKAHEAD_ROWS);
+        int to = Math.min(this.rows.length - 1, last + HEAD_LOOKAHEAD_ROWS);
+
+        int requested = 0;
+        for (int distance = 0; requested < HEAD_REQUESTS_PER_TICK; distance++) {
+            int above = first - distance;
+            int below = last + distance;
+            if (above < from && below > to) {
+                break;
+            }
+            // Walk outward from the viewport: visible rows first, then look-ahead rows
+            if (distance == 0) {
+                for (int row = first; row <= Math.min(last, to) && requested < HEAD_REQUESTS_PER_TICK; row++) {
+                    requested += requestHead(row);
+                }
+                continue;
+            }
+            if (below <= to) {
+                requested += requestHead(below);
+            }
+            if (above >= from && requested < HEAD_REQUESTS_PER_TICK) {
+                requested += requestHead(above);
+            }
+        }
+    }
+
+    private int requestHead(int row) {
+        String name = this.snapshot.nameOf(this.rows[row]);
+        String key = name.toLowerCase(Locale.ROOT);
+        if (HeadAtlas.contains(key) || !this.requestedHeads.add(key)) {
+            return 0;
+        }
+        SkinLoader.loadHeadIntoAtlas(name).whenComplete((slot, error) -> {
+            // Once packed the atlas tracks it; if it is evicted later it may be requested again.
+            // Failed heads stay marked so they are not retried every tick.
+            if (slot != null && this.client != null) {
+                this.client.execute(() -> this.requestedHeads.remove(key));
+            }
+        });
+        return 1;
+    }
+
+    @Override
+    public void render(DrawContext context, int mouseX, int mouseY, float delta) {
+        super.render(context, mouseX, mouseY, delta);
+
+        int centerX = this.width / 2;
+        context.drawCenteredTextWithShadow(this.textRenderer, this.title, centerX, 8, 0xFFFFFFFF);
+
+        context.fill(this.listLeft, this.listTop, this.listRight, this.listBottom, 0xAA000000);
+
+        if (this.snapshot.size() == 0) {
+            context.drawCenteredTextWithShadow(this.textRenderer, "§7Leaderboard not loaded yet",
+                centerX, (this.listTop + this.listBottom) / 2, 0xFFFFFFFF);
+            return;
+        }
+        if (this.filtering && this.rows.length == 0) {
+            context.drawCenteredTextWithShadow(this.textRenderer, "§7Loading...",
+                centerX, (this.listTop + this.listBottom) / 2, 0xFFFFFFFF);
+            return;
+        }
+
+        this.renderRows(context, mouseX, mouseY);
+        this.renderScrollbar(context);
+
+        context.drawCenteredTextWithShadow(this.textRenderer,
+            "§7" + this.rows.length + " players" + (this.filtering ? " (filtering...)" : "")
+                + (this.snapshot.isComplete() ? "" : " (downloading...)"),
+            centerX, this.listBottom + 2, 0xFFFFFFFF);
+    }
+
+    private void renderRows(DrawContext context, int mouseX, int mouseY) {
+        int first = firstVisibleRow();
+        int last = lastVisibleRow();
+        int rowRight = this.listRight - SCROLLBAR_WIDTH;
+        boolean gamemodeView = this.gamemodes.get(this.gamemodeIndex) != null;
+
+        context.enableScissor(this.listLeft, this.listTop, this.listRight, this.listBottom);
+
+        for (int row = first; row <= last; row++) {
+            int y = rowY(row);
+            RowText text = rowText(row, gamemodeView);
+            if (mouseX >= this.listLeft && mouseX < rowRight && mouseY >= Math.max(y, this.listTop)
+                    && mouseY < Math.min(y + ROW_HEIGHT, this.listBottom)) {
+                context.fill(this.listLeft, y, rowRight, y + ROW_HEIGHT, 0x40FFFFFF);
+            }
+            context.drawTextWithShadow(this.textRenderer, text.rank, this.listLeft + 4, y + 6, 0xFFFFFFFF);
+            context.drawTextWithShadow(this.textRenderer, text.name, this.listLeft + 62, y + 6, 0xFFFFFFFF);
+            context.drawTextWithShadow(this.textRenderer, text.tier, rowRight - text.tierWidth - 4, y + 6, 0xFFFFFFFF);
+        }
+
+        // Heads last, in one batched draw from the atlas
+        HeadAtlas.Batch heads = HeadAtlas.begin(context);
+        for (int row = first; row <= last; row++) {
+            HeadAtlas.Slot slot = HeadAtlas.getSlot(rowText(row, gamemodeView).headKey);
+            if (slot != null) {
+                heads.add(slot, this.listLeft + 42, rowY(row) + 2, HEAD_SIZE);
+            }
+        }
+        heads.draw();
+
+        context.disableScissor();
+    }
+
+    /**
+     * Pooled Texts for a row, rebuilt only when the pool entry last held a different row
+     */
+    private RowText rowText(int row, boolean gamemodeView) {
+        RowText text = this.rowPool[row % this.rowPool.length];
+        int ordinal = this.rows[row];
+        if (text.row == row && text.ordinal == ordinal && text.version == this.rowVersion) {
+            return text;
+        }
+
+        TierListAPI.PlayerTierData data = this.snapshot.getByOrdinal(ordinal);
+        Tier tier = gamemodeView
+            ? data.getTierForGamemode(this.gamemodes.get(this.gamemodeIndex))
+            : data.getHighestTier();
+        int position = gamemodeView || data.overallRank <= 0 ? row + 1 : data.overallRank;
+
+        text.row = row;
+        text.ordinal = ordinal;
+        text.version = this.rowVersion;
+        text.headKey = data.playerName.toLowerCase(Locale.ROOT);
+        text.rank = Text.literal("#" + position).formatted(Formatting.GRAY);
+        text.name = Text.literal(data.playerName);
+        if (tier.isRanked()) {
+            int color = ModConfig.getTierColor(tier);
+            text.tier = Text.literal(tier.label()).styled(s -> s.withColor(color));
+        } else {
+            text.tier = Text.literal(data.totalPoints + " pts").formatted(Formatting.GRAY);
+        }
+        text.tierWidth = this.textRenderer.getWidth(text.tier);
+        return text;
+    }
+
+    private void renderScrollbar(DrawContext context) {
+        double maxScroll = maxScroll();
+        if (maxScroll <= 0) {
+            return;
+        }
+        int trackHeight = this.listBottom - this.listTop;
+        int thumbHeight = Math.max(16, (int) ((long) trackHeight * trackHeight / contentHeight()));
+        int thumbY = this.listTop + (int) ((trackHeight - thumbHeight) * (this.scrollY / maxScroll));
+        int x = this.listRight - SCROLLBAR_WIDTH;
+        context.fill(x, this.listTop, this.listRight, this.listBottom, 0xFF000000);
+        context.fill(x, thumbY, this.listRight, thumbY + thumbHeight, 0xFF808080);
+        context.fill(x, thumbY, this.listRight - 1, thumbY + thumbHeight - 1, 0xFFC0C0C0);
+    }
+
+    private int firstVisibleRow() {
+        return Math.min((int) (this.scrollY / ROW_HEIGHT), Math.max(0, this.rows.length - 1));
+    }
+
+    private int lastVisibleRow() {
+        int last = (int) ((this.scrollY + (this.listBottom - this.listTop) - 1) / ROW_HEIGHT);
+        return Math.min(last, this.rows.length - 1);
+    }
+
+    private int rowY(int row) {
+        return this.listTop + row * ROW_HEIGHT - (int) this.scrollY;
+    }
+
+    private long contentHeight() {
+        return (long) this.rows.length * ROW_HEIGHT;
+    }
+
+    private double maxScroll() {
+        return Math.max(0, contentHeight() - (this.listBottom - this.listTop));
+    }
+
+    private void setScroll(double value) {
+        this.scrollY = Math.max(0, Math.min(value, maxScroll()));
+    }
+
+    @Override
+    public boolean mouseScrolled(double mouseX, double mouseY, double horizontalAmount, double verticalAmount) {
+        setScroll(this.scrollY - verticalAmount * ROW_HEIGHT * 3);
+        return true;
+    }
+
+    @Override
+    public boolean mouseClicked(double mouseX, double mouseY, int button) {
+        if (button == 0 && mouseY >= this.listTop && mouseY < this.listBottom) {
+            if (mouseX >= this.listRight - SCROLLBAR_WIDTH && mouseX < this.listRight) {
+                this.draggingScrollbar = true;
+                this.scrollToMouse(mouseY);
+                return true;
+            }
+            if (mouseX >= this.listLeft && mouseX < this.listRight - SCROLLBAR_WIDTH) {
+                int row = (int) ((mouseY - this.listTop + this.scrollY) / ROW_HEIGHT);
+                if (row >= 0 && row < this.rows.length) {
+                    this.openProfile(this.snapshot.getByOrdinal(this.rows[row]));
+                    return true;
+                }
+            }
+        }
+        return super.mouseClicked(mouseX, mouseY, button);
+    }
+
+    @Override
+    public boolean mouseDragged(double mouseX, double mouseY, int button, double deltaX, double deltaY) {
+        if (this.draggingScrollbar) {
+            this.scrollToMouse(mouseY);
+            return true;
+        }
+        return super.mouseDragged(mouseX, mouseY, button, deltaX, deltaY);
+    }
+
+    @Override
+    public boolean mouseReleased(double mouseX, double mouseY, int button) {
+        this.draggingScrollbar = false;
+        return super.mouseReleased(mouseX, mouseY, button);
+    }
+
+    private void scrollToMouse(double mouseY) {
+        double fraction = (mouseY - this.listTop) / (double) (this.listBottom - this.listTop);
+        setScroll(fraction * maxScroll());
+    }
+
+    /**
+     * Open the profile straight from snapshot data; only the skin has to be loaded
+     */
+    private void openProfile(TierListAPI.PlayerTierData data) {
+        if (this.openingProfile || this.client == null) {
+            return;
+        }
+        this.openingProfile = true;
+        SkinLoader.loadSkinAndCreateWidget(data.playerName, this.client).thenAccept(skinWidget -> {
+            if (this.client != null) {
+                this.client.execute(() -> {
+                    this.openingProfile = false;
+                    if (skinWidget != null) {
+                        this.client.setScreen(new PlayerInfoScreen(this, data, skinWidget));
+                    }
+                });
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        if (this.client != null) {
+            this.client.setScreen(this.parent);
+        }
+    }
+
+    @Override
+    public boolean shouldPause() {
+        return false;
+    }
+
+    private static class RowText {
+        int row = -1;
+        int ordinal = -1;
+        int version = -1;
+        String headKey;
+        Text rank;
+        Text name;
+        Text tier;
+        int tierWidth;
+    }
+}
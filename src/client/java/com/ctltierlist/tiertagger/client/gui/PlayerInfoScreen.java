@@ -1,6 +1,11 @@
 package com.ctltierlist.tiertagger.client.gui;
 
+import com.ctltierlist.tiertagger.api.Tier;
 import com.ctltierlist.tiertagger.api.TierListAPI;
+import com.ctltierlist.tiertagger.cache.LeaderboardSnapshot;
+import com.ctltierlist.tiertagger.cache.OverallCache;
+import com.ctltierlist.tiertagger.cache.TierIndex;
+import com.ctltierlist.tiertagger.cache.TierStats;
 import com.ctltierlist.tiertagger.config.ModConfig;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.gui.DrawContext;
@@ -21,26 +26,25 @@ public class PlayerInfoScreen extends Screen {
     private final TierListAPI.PlayerTierData playerData;
     private final List<TierEntry> tierEntries = new ArrayList<>();
     private final PlayerSkinWidget skinWidget;
+    private final String pointsStanding;
 
     public PlayerInfoScreen(Screen parent, TierListAPI.PlayerTierData playerData, PlayerSkinWidget skinWidget) {
         super(Text.literal("Player Info"));
         this.parent = parent;
         this.playerData = playerData;
         this.skinWidget = skinWidget;
+        this.pointsStanding = getPointsStanding();
         
         // Build and sort tier entries list
         for (Map.Entry<String, TierListAPI.TierInfo> entry : playerData.getAllTiers().entrySet()) {
-            String gamemode = entry.getKey();
-            String tier = entry.getValue().tier;
-            boolean retired = entry.getValue().retired;
-            if (!tier.equals("Unranked")) {
-                tierEntries.add(new TierEntry(gamemode, tier, retired));
+            Tier tier = entry.getValue().tier;
+            if (tier.isRanked()) {
+                tierEntries.add(new TierEntry(entry.getKey(), tier));
             }
         }
         
         // Sort by retired status first (active first), then by tier value
-        tierEntries.sort(Comparator.comparing((TierEntry e) -> e.retired)
-                                   .thenComparingInt(e -> getTierValue(e.tier)));
+        tierEntries.sort(Comparator.comparingInt(e -> e.tier.sortKey()));
     }
 
     @Override
@@ -72,8 +76,9 @@ public class PlayerInfoScreen extends Screen {
             textWidget.setX(centerX + 5);
             textWidget.setY(rankingY);
             
-            String statusText = entry.retired ? "§cRetired" : "§aActive";
-            Text tooltipText = Text.literal("Gamemode: " + entry.gamemode + "\n" + statusText).formatted(Formatting.GRAY);
+            String statusText = entry.tier.isRetired() ? "§cRetired" : "§aActive";
+            Text tooltipText = Text.literal("Gamemode: " + entry.gamemode + "\n" + statusText + getStandingText(entry))
+                .formatted(Formatting.GRAY);
             textWidget.setTooltip(Tooltip.of(tooltipText));
             
             this.addDrawableChild(textWidget);
@@ -110,14 +115,35 @@ public class PlayerInfoScreen extends Screen {
         context.drawTextWithShadow(this.textRenderer, "Rankings:", centerX + 5, startY + 45, 0xFFFFFFFF);
     }
 
+    /**
+     * How rare the tier is and the player's position in the gamemode, from precomputed snapshot stats
+     */
+    private String getStandingText(TierEntry entry) {
+        LeaderboardSnapshot snapshot = OverallCache.getSnapshot();
+        TierStats stats = snapshot.getStats();
+        int count = stats.count(entry.gamemode, entry.tier);
+        if (count == 0) {
+            return "";
+        }
+        String standing = "\n" + entry.tier.label() + ": " + count + " players"
+            + String.format(" (top %.1f%%)", stats.topFraction(entry.gamemode, entry.tier) * 100)
+            + "\n" + stats.count(entry.gamemode, entry.tier, playerData.region) + " in " + playerData.region;
+
+        TierIndex index = snapshot.getTierIndex(entry.gamemode);
+        int position = index != null ? index.positionOf(snapshot.ordinalOf(playerData.playerName.toLowerCase())) : -1;
+        if (position >= 0) {
+            standing += "\n#" + (position + 1) + " of " + index.size() + " in " + entry.gamemode;
+        }
+        return standing;
+    }
+
     private Text formatTier(TierEntry entry) {
-        // Format tier with R prefix if retired (e.g., "RHT3" or "RLT3")
-        String tierString = entry.retired ? "R" + entry.tier : entry.tier;
-        int primaryColor = ModConfig.getTierColor(tierString);
+        // Label carries the R prefix if retired (e.g., "RHT3" or "RLT3")
+        int primaryColor = ModConfig.getTierColor(entry.tier);
         
         // Get colored gamemode name with icon
         Text gamemodeText = getGamemodeStyledText(entry.gamemode);
-        Text tierText = Text.literal(tierString).styled(s -> s.withColor(primaryColor));
+        Text tierText = Text.literal(entry.tier.label()).styled(s -> s.withColor(primaryColor));
         
         return Text.empty()
             .append(gamemodeText)
@@ -173,7 +199,17 @@ public class PlayerInfoScreen extends Screen {
         return Text.empty()
             .append(Text.literal("Points: "))
             .append(Text.literal(playerData.totalPoints + " ").styled(s -> s.withColor(pointColor)))
-            .append(Text.literal("(" + playerData.title + ")").styled(s -> s.withColor(pointColor | 0x404040)));
+            .append(Text.literal("(" + playerData.title + ")").styled(s -> s.withColor(pointColor | 0x404040)))
+            .append(Text.literal(pointsStanding).formatted(Formatting.GRAY));
+    }
+
+    /**
+     * Share of cached players with at least this many points
+     */
+    private String getPointsStanding() {
+        TierStats stats = OverallCache.getSnapshot().getStats();
+        double top = stats.pointsTopFraction(playerData.totalPoints);
+        return top > 0 ? String.format(" top %.1f%%", top * 100) : "";
     }
 
     private Text getRankText() {
@@ -215,22 +251,6 @@ public class PlayerInfoScreen extends Screen {
         };
     }
 
-    private int getTierValue(String tier) {
-        if (tier == null || tier.equals("Unranked")) return 999;
-        
-        // Remove R prefix for retired tiers
-        String cleanTier = tier.startsWith("R") ? tier.substring(1) : tier;
-        
-        if (cleanTier.startsWith("HT")) {
-            int num = Integer.parseInt(cleanTier.substring(2));
-            return (num * 2) - 1;
-        } else if (cleanTier.startsWith("LT")) {
-            int num = Integer.parseInt(cleanTier.substring(2));
-            return num * 2;
-        }
-        return 999;
-    }
-
     @Override
     public void close() {
         if (this.client != null) {
@@ -240,13 +260,11 @@ public class PlayerInfoScreen extends Screen {
 
     private static class TierEntry {
         final String gamemode;
-        final String tier;
-        final boolean retired;
+        final Tier tier;
 
-        TierEntry(String gamemode, String tier, boolean retired) {
+        TierEntry(String gamemode, Tier tier) {
             this.gamemode = gamemode;
             this.tier = tier;
-            this.retired = retired;
         }
     }
 }
@@ -1,8 +1,12 @@
 package com.ctltierlist.tiertagger.client.gui;
 
 import com.ctltierlist.tiertagger.CTLTierTagger;
+import com.ctltierlist.tiertagger.api.Tier;
 import com.ctltierlist.tiertagger.api.TierListAPI;
+import com.ctltierlist.tiertagger.cache.OverallCache;
+import com.ctltierlist.tiertagger.client.render.HeadAtlas;
 import com.ctltierlist.tiertagger.client.util.SkinLoader;
+import com.ctltierlist.tiertagger.config.ModConfig;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.gui.DrawContext;
 import net.minecraft.client.gui.screen.Screen;
@@ -11,15 +15,33 @@ import net.minecraft.client.gui.widget.PlayerSkinWidget;
 import net.minecraft.client.gui.widget.TextFieldWidget;
 import net.minecraft.text.Text;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
 import java.util.concurrent.CompletableFuture;
 
 public class PlayerSearchScreen extends Screen {
+    private static final int MAX_RESULTS = 8;
+    private static final int ROW_HEIGHT = 20;
+    private static final int HEAD_SIZE = 16;
+    private static final long REMOTE_DEBOUNCE_MS = 300;
+
     private final Screen parent;
     private TextFieldWidget searchField;
     private ButtonWidget searchButton;
     private boolean isSearching = false;
     private String errorMessage = null;
 
+    // Live search state
+    private final List<ResultRow> results = new ArrayList<>();
+    private String currentQuery = "";
+    private int searchGeneration = 0;
+    private long lastEditTime = 0;
+    private boolean remotePending = false;
+    private CompletableFuture<List<TierListAPI.PlayerSearchResult>> remoteSearch;
+    private int panelTop;
+    private int listTop;
+
     public PlayerSearchScreen(Screen parent) {
         super(Text.literal("Search Players"));
         this.parent = parent;
@@ -28,13 +50,14 @@ public class PlayerSearchScreen extends Screen {
     @Override
     protected void init() {
         int centerX = this.width / 2;
-        int centerY = this.height / 2;
+        this.panelTop = Math.max(10, this.height / 2 - 120);
+        this.listTop = this.panelTop + 80;
 
         // Centered search field
         this.searchField = new TextFieldWidget(
             this.textRenderer,
             centerX - 150,
-            centerY - 30,
+            this.panelTop + 25,
             300,
             20,
             Text.literal("Search")
@@ -42,42 +65,138 @@ public class PlayerSearchScreen extends Screen {
         this.searchField.setPlaceholder(Text.literal("Enter player name..."));
         this.searchField.setMaxLength(16);
         this.searchField.setEditable(true);
+        this.searchField.setChangedListener(this::onQueryChanged);
         this.addDrawableChild(this.searchField);
         this.setInitialFocus(this.searchField);
-        
+
         // Search button
         this.searchButton = ButtonWidget.builder(
             Text.literal("Search"),
             button -> performSearch()
-        ).dimensions(centerX - 75, centerY + 5, 150, 20).build();
+        ).dimensions(centerX - 150, this.panelTop + 50, 148, 20).build();
         this.addDrawableChild(this.searchButton);
+
+        // Browse the full cached leaderboard
+        this.addDrawableChild(ButtonWidget.builder(
+            Text.literal("Leaderboard"),
+            button -> this.client.setScreen(new LeaderboardScreen(this))
+        ).dimensions(centerX + 2, this.panelTop + 50, 148, 20).build());
+    }
+
+    /**
+     * Called on every keystroke: answer instantly from the local snapshot,
+     * and arm the debounced remote search
+     */
+    private void onQueryChanged(String text) {
+        String query = text.trim();
+        if (query.equals(this.currentQuery)) {
+            return;
+        }
+        this.currentQuery = query;
+        this.searchGeneration++;
+        this.cancelRemoteSearch();
+        this.results.clear();
+        this.errorMessage = null;
+        this.remotePending = false;
+
+        if (query.isEmpty()) {
+            return;
+        }
+
+        boolean exactLocalMatch = false;
+        for (TierListAPI.PlayerTierData data : OverallCache.searchByPrefix(query, MAX_RESULTS)) {
+            this.addResult(new ResultRow(data.playerName, data.getHighestTier()));
+            exactLocalMatch |= data.playerName.equalsIgnoreCase(query);
+        }
+
+        // Fill remaining rows with likely typos of the query
+        if (!exactLocalMatch && this.results.size() < MAX_RESULTS) {
+            for (TierListAPI.PlayerTierData data : OverallCache.searchFuzzy(query, MAX_RESULTS)) {
+                this.addResult(new ResultRow(data.playerName, data.getHighestTier()));
+            }
+        }
+
+        // The snapshot already has this exact player, no need to ask the API
+        if (!exactLocalMatch) {
+            this.lastEditTime = System.currentTimeMillis();
+            this.remotePending = true;
+        }
+    }
+
+    private void startRemoteSearch(String query) {
+        int generation = this.searchGeneration;
+        this.remoteSearch = TierListAPI.searchPlayers(query);
+        this.remoteSearch.thenAccept(found -> {
+            if (this.client == null) {
+                return;
+            }
+            this.client.execute(() -> {
+                // Drop responses superseded by newer keystrokes
+                if (generation != this.searchGeneration) {
+                    return;
+                }
+                this.remoteSearch = null;
+                for (TierListAPI.PlayerSearchResult result : found) {
+                    this.addResult(new ResultRow(result.playerName, result.tier));
+                }
+            });
+        });
+    }
+
+    private void cancelRemoteSearch() {
+        if (this.remoteSearch != null) {
+            this.remoteSearch.cancel(true);
+            this.remoteSearch = null;
+        }
+    }
+
+    private void addResult(ResultRow row) {
+        for (ResultRow existing : this.results) {
+            if (existing.key.equals(row.key)) {
+                return;
+            }
+        }
+        if (this.results.size() >= MAX_RESULTS) {
+            return;
+        }
+        this.results.add(row);
+        SkinLoader.loadHeadIntoAtlas(row.playerName);
     }
 
     private void performSearch() {
         String query = this.searchField.getText().trim();
         CTLTierTagger.LOGGER.info("[Search] Button clicked, query: '{}'", query);
-        
+
         if (query.isEmpty()) {
             CTLTierTagger.LOGGER.info("[Search] Empty query, showing error");
             this.errorMessage = "§cPlease enter a player name";
             return;
         }
 
+        // Prefer the exact-case name from a result row if one matches
+        for (ResultRow row : this.results) {
+            if (row.playerName.equalsIgnoreCase(query)) {
+                query = row.playerName;
+                break;
+            }
+        }
+
+        openPlayerProfile(query);
+    }
+
+    private void openPlayerProfile(String playerName) {
         if (this.isSearching) {
             CTLTierTagger.LOGGER.info("[Search] Already searching, ignoring");
             return;
         }
 
-        CTLTierTagger.LOGGER.info("[Search] Starting search for: {}", query);
+        CTLTierTagger.LOGGER.info("[Search] Starting search for: {}", playerName);
         this.isSearching = true;
         this.errorMessage = null;
         this.searchButton.active = false;
+        this.remotePending = false;
+        this.cancelRemoteSearch();
 
-        // Directly fetch player data and open profile
-        openPlayerProfile(query);
-    }
-
-    private void openPlayerProfile(String playerName) {
         CTLTierTagger.LOGGER.info("[Search] openPlayerProfile called for: {}", playerName);
         if (this.client == null) {
             CTLTierTagger.LOGGER.error("[Search] Client is null!");
@@ -103,13 +222,17 @@ public class PlayerSearchScreen extends Screen {
                 this.client.execute(() -> {
                     this.isSearching = false;
                     this.searchButton.active = true;
-                    
+
                     if (data != null && skinWidget != null) {
                         CTLTierTagger.LOGGER.info("[Search] Opening PlayerInfoScreen for {}", playerName);
                         this.client.setScreen(new PlayerInfoScreen(this, data, skinWidget));
                     } else {
                         CTLTierTagger.LOGGER.warn("[Search] Player not found: {}", playerName);
                         this.errorMessage = "§cPlayer not found: " + playerName;
+                        List<TierListAPI.PlayerTierData> suggestions = OverallCache.searchFuzzy(playerName, 1);
+                        if (!suggestions.isEmpty()) {
+                            this.errorMessage += " §7(did you mean " + suggestions.get(0).playerName + "?)";
+                        }
                     }
                 });
             }
@@ -129,12 +252,13 @@ public class PlayerSearchScreen extends Screen {
     @Override
     public void render(DrawContext context, int mouseX, int mouseY, float delta) {
         int centerX = this.width / 2;
-        int centerY = this.height / 2;
+        int listBottom = this.listTop + MAX_RESULTS * ROW_HEIGHT;
+        int statusY = listBottom + 8;
 
         // Draw semi-transparent background FIRST
         context.fillGradient(
-            centerX - 160, centerY - 60,
-            centerX + 160, centerY + 50,
+            centerX - 160, this.panelTop,
+            centerX + 160, statusY + 15,
             0xCC000000, 0xCC000000
         );
 
@@ -143,46 +267,84 @@ public class PlayerSearchScreen extends Screen {
             this.textRenderer,
             Text.literal("§bSearch Player"),
             centerX,
-            centerY - 50,
+            this.panelTop + 10,
             0xFFFFFF
         );
 
         // Render widgets ON TOP of background
         super.render(context, mouseX, mouseY, delta);
 
+        this.renderResults(context, mouseX, mouseY);
+
         // Draw status messages
+        String status;
         if (this.isSearching) {
-            context.drawCenteredTextWithShadow(
-                this.textRenderer,
-                Text.literal("§7Searching..."),
-                centerX,
-                centerY + 35,
-                0xFFFFFF
-            );
+            status = "§7Searching...";
         } else if (this.errorMessage != null) {
-            context.drawCenteredTextWithShadow(
-                this.textRenderer,
-                Text.literal(this.errorMessage),
-                centerX,
-                centerY + 35,
-                0xFFFFFF
-            );
+            status = this.errorMessage;
+        } else if (this.remotePending || this.remoteSearch != null) {
+            status = "§7Searching online...";
+        } else if (!this.currentQuery.isEmpty() && this.results.isEmpty()) {
+            status = "§7No matches";
         } else {
-            context.drawCenteredTextWithShadow(
-                this.textRenderer,
-                Text.literal("§7Press ESC to close"),
-                centerX,
-                centerY + 35,
-                0x888888
-            );
+            status = "§7Press ESC to close";
         }
+        context.drawCenteredTextWithShadow(this.textRenderer, Text.literal(status), centerX, statusY, 0xFFFFFF);
     }
 
+    private void renderResults(DrawContext context, int mouseX, int mouseY) {
+        int left = this.width / 2 - 150;
+        int right = this.width / 2 + 150;
+
+        for (int i = 0; i < this.results.size(); i++) {
+            ResultRow row = this.results.get(i);
+            int y = this.listTop + i * ROW_HEIGHT;
+            if (mouseX >= left && mouseX < right && mouseY >= y && mouseY < y + ROW_HEIGHT) {
+                context.fill(left, y, right, y + ROW_HEIGHT, 0x40FFFFFF);
+            }
+            context.drawTextWithShadow(this.textRenderer, row.playerName, left + HEAD_SIZE + 8, y + 6, 0xFFFFFFFF);
+            if (row.tier.isRanked()) {
+                int tierWidth = this.textRenderer.getWidth(row.tier.label());
+                context.drawTextWithShadow(this.textRenderer, row.tier.label(), right - tierWidth - 4, y + 6,
+                    0xFF000000 | ModConfig.getTierColor(row.tier));
+            }
+        }
 
+        // All heads come from the atlas: one texture, one draw call
+        HeadAtlas.Batch heads = HeadAtlas.begin(context);
+        for (int i = 0; i < this.results.size(); i++) {
+            HeadAtlas.Slot slot = HeadAtlas.getSlot(this.results.get(i).key);
+            if (slot != null) {
+                heads.add(slot, left + 4, this.listTop + i * ROW_HEIGHT + 2, HEAD_SIZE);
+            }
+        }
+        heads.draw();
+    }
 
     @Override
     public void tick() {
         super.tick();
+        // Debounced remote search once typing pauses
+        if (this.remotePending && System.currentTimeMillis() - this.lastEditTime >= REMOTE_DEBOUNCE_MS) {
+            this.remotePending = false;
+            this.startRemoteSearch(this.currentQuery);
+        }
+    }
+
+    @Override
+    public boolean mouseClicked(double mouseX, double mouseY, int button) {
+        if (button == 0 && !this.isSearching) {
+            int left = this.width / 2 - 150;
+            int right = this.width / 2 + 150;
+            for (int i = 0; i < this.results.size(); i++) {
+                int y = this.listTop + i * ROW_HEIGHT;
+                if (mouseX >= left && mouseX < right && mouseY >= y && mouseY < y + ROW_HEIGHT) {
+                    this.openPlayerProfile(this.results.get(i).playerName);
+                    return true;
+                }
+            }
+        }
+        return super.mouseClicked(mouseX, mouseY, button);
     }
 
     @Override
@@ -200,6 +362,7 @@ public class PlayerSearchScreen extends Screen {
 
     @Override
     public void close() {
+        this.cancelRemoteSearch();
         if (this.client != null) {
             this.client.setScreen(this.parent);
         }
@@ -216,4 +379,16 @@ public class PlayerSearchScreen extends Screen {
     public boolean shouldPause() {
         return false;
     }
+
+    private static class ResultRow {
+        final String playerName;
+        final String key;
+        final Tier tier;
+
+        ResultRow(String playerName, Tier tier) {
+            this.playerName = playerName;
+            this.key = playerName.trim().toLowerCase(Locale.ROOT);
+            this.tier = tier;
+        }
+    }
 }
@@ -0,0 +1,23 @@
+package com.ctltierlist.tiertagger.client.mixin;
+
+import com.ctltierlist.tiertagger.client.util.PlayerPrefetcher;
+import net.minecraft.client.network.ClientPlayNetworkHandler;
+import net.minecraft.network.packet.s2c.play.PlayerListS2CPacket;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(ClientPlayNetworkHandler.class)
+public abstract class ClientPlayNetworkHandlerMixin {
+
+    /**
+     * Prefetch players added to the player list. At TAIL the packet is being handled on the client thread.
+     */
+    @Inject(method = "onPlayerList", at = @At("TAIL"))
+    private void onPlayerList(PlayerListS2CPacket packet, CallbackInfo ci) {
+        for (PlayerListS2CPacket.Entry entry : packet.getPlayerAdditionEntries()) {
+            PlayerPrefetcher.onPlayerAdded(entry.profile());
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.ctltierlist.tiertagger.client.mixin;
+
+import com.ctltierlist.tiertagger.client.render.HeadAtlas;
+import com.ctltierlist.tiertagger.client.util.TextureCache;
+import com.ctltierlist.tiertagger.client.util.TextureUploadQueue;
+import net.minecraft.client.MinecraftClient;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(MinecraftClient.class)
+public abstract class MinecraftClientMixin {
+
+    /**
+     * Release evicted textures and drain queued texture uploads once per frame, before the frame is rendered
+     */
+    @Inject(method = "render", at = @At("HEAD"))
+    private void onRenderFrame(boolean tick, CallbackInfo ci) {
+        TextureCache.destroyEvicted();
+        TextureUploadQueue.drain();
+        HeadAtlas.flush();
+    }
+}
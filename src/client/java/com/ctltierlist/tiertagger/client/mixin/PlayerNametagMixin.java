@@ -1,5 +1,6 @@
 package com.ctltierlist.tiertagger.client.mixin;
 
+import com.ctltierlist.tiertagger.api.Tier;
 import com.ctltierlist.tiertagger.api.TierListAPI;
 import com.ctltierlist.tiertagger.cache.TierCache;
 import com.ctltierlist.tiertagger.config.ModConfig;
@@ -30,20 +31,17 @@ public abstract class PlayerNametagMixin {
         }
         
         // Determine which tier to show based on config
-        String displayTier;
+        Tier displayTier;
         String displayGamemode;
-        boolean isRetired;
         
         if (ModConfig.shouldShowHighestTier()) {
             // Show highest tier across all gamemodes
             displayTier = tierData.getHighestTier();
             displayGamemode = tierData.getHighestTierGamemode();
             
-            if (displayTier.equals("Unranked") || displayGamemode == null) {
+            if (!displayTier.isRanked() || displayGamemode == null) {
                 return original;
             }
-            
-            isRetired = tierData.isRetired(displayGamemode);
         } else {
             // Filter by selected gamemode
             String selectedGamemode = ModConfig.getSelectedGamemode();
@@ -54,12 +52,6 @@ public abstract class PlayerNametagMixin {
             
             displayTier = tierData.getTierForGamemode(selectedGamemode);
             displayGamemode = selectedGamemode;
-            isRetired = tierData.isRetired(selectedGamemode);
-        }
-        
-        // Add R prefix for retired tiers (e.g., "RHT3")
-        if (isRetired) {
-            displayTier = "R" + displayTier;
         }
         
         // Build tier text in TierTagger format: [ICON] TIER | PlayerName
@@ -78,11 +70,11 @@ public abstract class PlayerNametagMixin {
             // Apply gradient
             int startColor = ModConfig.getTierColor(displayTier);
             int endColor = ModConfig.getGradientColor(displayTier);
-            result = result.copy().append(createGradientText(displayTier, startColor, endColor));
+            result = result.copy().append(createGradientText(displayTier.label(), startColor, endColor));
         } else {
             // Single color
             int tierColor = ModConfig.getTierColor(displayTier);
-            result = result.copy().append(Text.literal(displayTier).styled(s -> s.withColor(tierColor)));
+            result = result.copy().append(Text.literal(displayTier.label()).styled(s -> s.withColor(tierColor)));
         }
         
         // Add pipe separator
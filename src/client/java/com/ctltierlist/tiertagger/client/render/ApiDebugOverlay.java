@@ -0,0 +1,59 @@
+package com.ctltierlist.tiertagger.client.render;
+
+import com.ctltierlist.tiertagger.api.CircuitBreaker;
+import com.ctltierlist.tiertagger.api.EndpointPool;
+import com.ctltierlist.tiertagger.api.RequestScheduler;
+import com.ctltierlist.tiertagger.config.ModConfig;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.gui.DrawContext;
+import net.minecraft.client.render.RenderTickCounter;
+
+import java.util.Locale;
+
+/**
+ * Debug HUD lines with the request queue, the latency of every API host and the state of every circuit breaker.
+ * Only drawn while debug mode is on and the F3 screen is closed.
+ */
+public class ApiDebugOverlay {
+    private static final int COLOR_CLOSED = 0xFF55FF55;
+    private static final int COLOR_HALF_OPEN = 0xFFFFFF55;
+    private static final int COLOR_OPEN = 0xFFFF5555;
+    private static final int COLOR_ENDPOINT = 0xFFAAAAAA;
+
+    public static void render(DrawContext context, RenderTickCounter tickCounter) {
+        MinecraftClient client = MinecraftClient.getInstance();
+        if (!ModConfig.isDebugMode() || client.getDebugHud().shouldShowDebugHud()) {
+            return;
+        }
+
+        int y = 4;
+        StringBuilder queue = new StringBuilder("Requests: ").append(RequestScheduler.getRunningCount()).append(" running");
+        for (RequestScheduler.Priority priority : RequestScheduler.Priority.values()) {
+            queue.append(", ").append(RequestScheduler.getQueuedCount(priority)).append(' ')
+                .append(priority.name().toLowerCase(Locale.ROOT)).append(" queued");
+        }
+        context.drawTextWithShadow(client.textRenderer, queue.toString(), 4, y, COLOR_ENDPOINT);
+        y += client.textRenderer.fontHeight + 2;
+        for (EndpointPool.Endpoint endpoint : EndpointPool.all()) {
+            double latency = endpoint.getLatencyMs();
+            String line = String.format("Host %s: %s", endpoint.getHost(),
+                latency < 0 ? "no calls yet" : Math.round(latency) + " ms avg");
+            context.drawTextWithShadow(client.textRenderer, line, 4, y, COLOR_ENDPOINT);
+            y += client.textRenderer.fontHeight + 2;
+        }
+        for (CircuitBreaker breaker : CircuitBreaker.all()) {
+            CircuitBreaker.State state = breaker.getState();
+            long p90 = breaker.latencyPercentile(90);
+            String line = String.format("API %s: %s, %d%% failed, p90 %s, retry budget %.1f",
+                breaker.getName(), state, Math.round(breaker.getFailureRate() * 100),
+                p90 < 0 ? "-" : p90 + " ms", breaker.getRetryBudget().getTokens());
+            int color = switch (state) {
+                case CLOSED -> COLOR_CLOSED;
+                case HALF_OPEN -> COLOR_HALF_OPEN;
+                case OPEN -> COLOR_OPEN;
+            };
+            context.drawTextWithShadow(client.textRenderer, line, 4, y, color);
+            y += client.textRenderer.fontHeight + 2;
+        }
+    }
+}
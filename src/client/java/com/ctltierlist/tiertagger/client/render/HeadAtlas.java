@@ -0,0 +1,231 @@
+package com.ctltierlist.tiertagger.client.render;
+
+import com.ctltierlist.tiertagger.CTLTierTagger;
+import com.mojang.blaze3d.systems.RenderSystem;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.gui.DrawContext;
+import net.minecraft.client.render.BufferBuilder;
+import net.minecraft.client.render.BufferRenderer;
+import net.minecraft.client.render.GameRenderer;
+import net.minecraft.client.render.Tessellator;
+import net.minecraft.client.render.VertexFormat;
+import net.minecraft.client.render.VertexFormats;
+import net.minecraft.client.texture.NativeImage;
+import net.minecraft.client.texture.NativeImageBackedTexture;
+import net.minecraft.util.Identifier;
+import org.joml.Matrix4f;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Dynamic texture atlas for player heads in list UIs.
+ * Heads are downscaled into fixed-size slots of one 512x512 texture as they arrive,
+ * so a list of dozens of heads binds a single texture and draws in one batched pass.
+ * Least recently drawn slots are recycled when the atlas is full.
+ * All methods except {@link #downscale} must be called on the render thread.
+ */
+public class HeadAtlas {
+    public static final Identifier ATLAS_ID = Identifier.of("ctl-tiertagger", "heads/atlas");
+    public static final int SLOT_SIZE = 32;
+    private static final int SLOTS_PER_ROW = 16;
+    private static final int ATLAS_SIZE = SLOT_SIZE * SLOTS_PER_ROW; // 512x512, 1 MB native
+    private static final int SLOT_COUNT = SLOTS_PER_ROW * SLOTS_PER_ROW;
+
+    private static final LinkedHashMap<String, Slot> slots = new LinkedHashMap<>(16, 0.75f, true);
+    private static final ArrayDeque<Integer> freeSlots = new ArrayDeque<>();
+    private static NativeImageBackedTexture texture;
+    private static boolean dirty = false;
+    private static long frame = 0;
+
+    static {
+        for (int i = 0; i < SLOT_COUNT; i++) {
+            freeSlots.add(i);
+        }
+    }
+
+    /**
+     * Get the slot holding a player's head, or null if it is not packed
+     */
+    public static Slot getSlot(String key) {
+        Slot slot = slots.get(key);
+        if (slot != null) {
+            slot.lastUsedFrame = frame;
+        }
+        return slot;
+    }
+
+    /**
+     * Scale a decoded head to slot size. Safe to call off-thread; closes the source image.
+     */
+    public static NativeImage downscale(NativeImage source) {
+        NativeImage scaled = new NativeImage(SLOT_SIZE, SLOT_SIZE, false);
+        int srcW = source.getWidth();
+        int srcH = source.getHeight();
+        // Nearest neighbour keeps the pixel-art look of skins
+        for (int y = 0; y < SLOT_SIZE; y++) {
+            int sy = y * srcH / SLOT_SIZE;
+            for (int x = 0; x < SLOT_SIZE; x++) {
+                scaled.setColor(x, y, source.getColor(x * srcW / SLOT_SIZE, sy));
+            }
+        }
+        source.close();
+        return scaled;
+    }
+
+    /**
+     * Copy a slot-sized head image into the atlas. Closes the image.
+     * @return The allocated slot, or null if every slot is in use this frame
+     */
+    public static Slot pack(String key, NativeImage headImage) {
+        try {
+            ensureTexture();
+
+            Slot slot = slots.get(key);
+            if (slot == null) {
+                Integer index = freeSlots.poll();
+                if (index == null) {
+                    index = evictLeastRecentlyUsed();
+                }
+                if (index == null) {
+                    return null;
+                }
+                slot = new Slot(index);
+                slots.put(key, slot);
+            }
+
+            headImage.copyRect(texture.getImage(), 0, 0, slot.x, slot.y, SLOT_SIZE, SLOT_SIZE, false, false);
+            slot.lastUsedFrame = frame;
+            dirty = true;
+            return slot;
+        } finally {
+            headImage.close();
+        }
+    }
+
+    /**
+     * Re-upload the atlas if heads were packed since the last frame. Called once per frame.
+     */
+    public static void flush() {
+        frame++;
+        if (dirty && texture != null) {
+            texture.upload();
+            dirty = false;
+        }
+    }
+
+    public static boolean contains(String key) {
+        return slots.containsKey(key);
+    }
+
+    public static int getUsedSlots() {
+        return slots.size();
+    }
+
+    public static int getSlotCapacity() {
+        return SLOT_COUNT;
+    }
+
+    /**
+     * Release the atlas texture and all slots
+     */
+    public static void clear() {
+        slots.clear();
+        freeSlots.clear();
+        for (int i = 0; i < SLOT_COUNT; i++) {
+            freeSlots.add(i);
+        }
+        if (texture != null) {
+            MinecraftClient.getInstance().getTextureManager().destroyTexture(ATLAS_ID);
+            texture = null;
+        }
+    }
+
+    private static void ensureTexture() {
+        if (texture == null) {
+            texture = new NativeImageBackedTexture(ATLAS_SIZE, ATLAS_SIZE, true);
+            MinecraftClient.getInstance().getTextureManager().registerTexture(ATLAS_ID, texture);
+            CTLTierTagger.LOGGER.debug("Created head atlas {}x{} with {} slots", ATLAS_SIZE, ATLAS_SIZE, SLOT_COUNT);
+        }
+    }
+
+    /**
+     * Free the least recently drawn slot, skipping slots drawn this or last frame
+     */
+    private static Integer evictLeastRecentlyUsed() {
+        Iterator<Map.Entry<String, Slot>> it = slots.entrySet().iterator();
+        while (it.hasNext()) {
+            Slot slot = it.next().getValue();
+            if (frame - slot.lastUsedFrame > 1) {
+                it.remove();
+                return slot.index;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Begin a batch of head quads drawn from the atlas in a single draw call.
+     * Do not issue other draw calls between {@link Batch#add} and {@link Batch#draw}.
+     */
+    public static Batch begin(DrawContext context) {
+        return new Batch(context.getMatrices().peek().getPositionMatrix());
+    }
+
+    public static class Slot {
+        final int index;
+        final int x;
+        final int y;
+        long lastUsedFrame;
+
+        Slot(int index) {
+            this.index = index;
+            this.x = (index % SLOTS_PER_ROW) * SLOT_SIZE;
+            this.y = (index / SLOTS_PER_ROW) * SLOT_SIZE;
+        }
+    }
+
+    public static class Batch {
+        private final Matrix4f matrix;
+        private BufferBuilder buffer;
+
+        Batch(Matrix4f matrix) {
+            this.matrix = matrix;
+        }
+
+        /**
+         * Queue a head quad at (x, y) with the given on-screen size
+         */
+        public void add(Slot slot, int x, int y, int size) {
+            if (buffer == null) {
+                buffer = Tessellator.getInstance().begin(VertexFormat.DrawMode.QUADS, VertexFormats.POSITION_TEXTURE);
+            }
+            slot.lastUsedFrame = frame;
+            float u1 = slot.x / (float) ATLAS_SIZE;
+            float v1 = slot.y / (float) ATLAS_SIZE;
+            float u2 = (slot.x + SLOT_SIZE) / (float) ATLAS_SIZE;
+            float v2 = (slot.y + SLOT_SIZE) / (float) ATLAS_SIZE;
+            buffer.vertex(matrix, x, y, 0).texture(u1, v1);
+            buffer.vertex(matrix, x, y + size, 0).texture(u1, v2);
+            buffer.vertex(matrix, x + size, y + size, 0).texture(u2, v2);
+            buffer.vertex(matrix, x + size, y, 0).texture(u2, v1);
+        }
+
+        /**
+         * Draw all queued heads with one texture bind
+         */
+        public void draw() {
+            if (buffer == null) {
+                return;
+            }
+            RenderSystem.setShaderTexture(0, ATLAS_ID);
+            RenderSystem.setShader(GameRenderer::getPositionTexProgram);
+            RenderSystem.enableBlend();
+            BufferRenderer.drawWithGlobalProgram(buffer.end());
+            RenderSystem.disableBlend();
+            buffer = null;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.ctltierlist.tiertagger.client.render;
 
 import com.ctltierlist.tiertagger.CTLTierTagger;
+import com.ctltierlist.tiertagger.api.Tier;
 import com.ctltierlist.tiertagger.api.TierListAPI;
 import com.ctltierlist.tiertagger.cache.TierCache;
 import com.ctltierlist.tiertagger.config.ModConfig;
@@ -46,22 +47,20 @@ public class TierHudRenderer {
         }
         
         // Determine which tier to show based on config
-        String displayTier;
+        Tier displayTier;
         String displayGamemode;
-        boolean isRetired;
         
         if (ModConfig.shouldShowHighestTier()) {
             // Show highest tier across all gamemodes
             displayTier = tierData.getHighestTier();
             displayGamemode = tierData.getHighestTierGamemode();
             
-            if (displayTier.equals("Unranked") || displayGamemode == null) {
+            if (!displayTier.isRanked() || displayGamemode == null) {
                 CTLTierTagger.LOGGER.info("[DEBUG] Player {} is unranked, skipping render", playerName);
                 return;
             }
-            
-            isRetired = tierData.isRetired(displayGamemode);
-            CTLTierTagger.LOGGER.info("[DEBUG] Showing highest tier: tier={}, gamemode={}, region={}, retired={}", displayTier, displayGamemode, tierData.region, isRetired);
+
+            CTLTierTagger.LOGGER.info("[DEBUG] Showing highest tier: tier={}, gamemode={}, region={}, retired={}", displayTier, displayGamemode, tierData.region, displayTier.isRetired());
         } else {
             // Filter by selected gamemode
             String selectedGamemode = ModConfig.getSelectedGamemode();
@@ -73,14 +72,8 @@ public class TierHudRenderer {
             
             displayTier = tierData.getTierForGamemode(selectedGamemode);
             displayGamemode = selectedGamemode;
-            isRetired = tierData.isRetired(selectedGamemode);
             
-            CTLTierTagger.LOGGER.info("[DEBUG] Showing selected gamemode tier: tier={}, gamemode={}, region={}, retired={}", displayTier, displayGamemode, tierData.region, isRetired);
-        }
-        
-        // Add R prefix for retired tiers (e.g., "RHT3")
-        if (isRetired) {
-            displayTier = "R" + displayTier;
+            CTLTierTagger.LOGGER.info("[DEBUG] Showing selected gamemode tier: tier={}, gamemode={}, region={}, retired={}", displayTier, displayGamemode, tierData.region, displayTier.isRetired());
         }
         
         // Build tier text in TierTagger format: [ICON] TIER
@@ -100,7 +93,7 @@ public class TierHudRenderer {
         
         // Add tier with color from config
         int tierColor = ModConfig.getTierColor(displayTier);
-        text = text.copy().append(Text.literal(displayTier).styled(s -> s.withColor(tierColor)));
+        text = text.copy().append(Text.literal(displayTier.label()).styled(s -> s.withColor(tierColor)));
         
         CTLTierTagger.LOGGER.info("[DEBUG] Final tier text built with color: 0x{}", Integer.toHexString(tierColor));
         TextRenderer textRenderer = client.textRenderer;
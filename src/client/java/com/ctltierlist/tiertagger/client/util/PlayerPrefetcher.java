@@ -0,0 +1,155 @@
+package com.ctltierlist.tiertagger.client.util;
+
+import com.ctltierlist.tiertagger.CTLTierTagger;
+import com.ctltierlist.tiertagger.api.RequestScheduler;
+import com.ctltierlist.tiertagger.api.TierListAPI;
+import com.ctltierlist.tiertagger.cache.OverallCache;
+import com.ctltierlist.tiertagger.cache.TierCache;
+import com.ctltierlist.tiertagger.config.ModConfig;
+import com.mojang.authlib.GameProfile;
+import net.minecraft.client.MinecraftClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Warms the caches for players as soon as the server lists them, before they come into view.
+ * Names from player-list add packets are collected over a short window and the UUID is taken
+ * from the packet. Only while the leaderboard is still downloading are the profiles of listed
+ * players missing from it fetched, at prefetch priority behind anything on screen; once it is
+ * complete it covers every ranked player. Names the API does not know are remembered across
+ * reconnects so they are not asked for again. Heads of every listed player are packed into the
+ * head atlas at prefetch priority, so the leaderboard and search screens draw them without waiting.
+ */
+public class PlayerPrefetcher {
+    private static final long BATCH_WINDOW_MS = 250;
+    private static final long MISS_TTL_MS = 30 * 60 * 1000; // 30 minutes
+    private static final int MAX_MISSES = 4096;
+    // Tab-list decorations and NPCs use names real accounts cannot have
+    private static final Pattern VALID_NAME = Pattern.compile("[A-Za-z0-9_]{3,16}");
+
+    private static final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "CTL-TierTagger-Prefetch");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private static final Set<String> seen = ConcurrentHashMap.newKeySet();
+    // Names without a profile (or whose fetch failed), until when to skip them; kept across servers
+    private static final Map<String, Long> misses = new ConcurrentHashMap<>();
+    private static final List<String> pending = new ArrayList<>();
+    private static boolean flushScheduled = false;
+
+    /**
+     * A player was added to the player list. Called on the client thread.
+     */
+    public static void onPlayerAdded(GameProfile profile) {
+        if (!ModConfig.isEnabled() || profile == null || profile.getId() == null) {
+            return;
+        }
+        String name = profile.getName();
+        if (name == null || !VALID_NAME.matcher(name).matches()
+            || name.equalsIgnoreCase(MinecraftClient.getInstance().getSession().getUsername())) {
+            return;
+        }
+        if (!seen.add(name.toLowerCase(Locale.ROOT))) {
+            return;
+        }
+
+        // Online-mode servers send the account's real (version 4) UUID, no lookup needed
+        if (profile.getId().version() == 4) {
+            UuidResolver.put(name, profile.getId());
+        }
+
+        synchronized (PlayerPrefetcher.class) {
+            pending.add(name);
+            if (!flushScheduled) {
+                flushScheduled = true;
+                executor.schedule(PlayerPrefetcher::flush, BATCH_WINDOW_MS, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Forget seen players and their prefetched profiles when leaving a server. Misses are kept.
+     */
+    public static void reset() {
+        synchronized (PlayerPrefetcher.class) {
+            pending.clear();
+        }
+        seen.clear();
+        TierCache.clearPrefetched();
+    }
+
+    private static void flush() {
+        List<String> batch;
+        synchronized (PlayerPrefetcher.class) {
+            flushScheduled = false;
+            batch = new ArrayList<>(pending);
+            pending.clear();
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        // The atlas is render-thread only; the downloads and decoding still run on the skin loader's executor
+        MinecraftClient.getInstance().execute(() -> {
+            for (String name : batch) {
+                if (seen.contains(name.toLowerCase(Locale.ROOT))) {
+                    SkinLoader.loadHeadIntoAtlas(name, RequestScheduler.Priority.PREFETCH);
+                }
+            }
+        });
+        prefetchProfiles(batch);
+    }
+
+    private static void prefetchProfiles(List<String> batch) {
+        // A complete leaderboard covers every ranked player; anyone missing from it has no tiers
+        if (TierCache.isLeaderboardLoaded()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        List<String> missing = new ArrayList<>();
+        for (String name : batch) {
+            Long skipUntil = misses.get(name.toLowerCase(Locale.ROOT));
+            if (!OverallCache.hasPlayer(name) && (skipUntil == null || skipUntil < now)) {
+                missing.add(name);
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+        CTLTierTagger.LOGGER.debug("Prefetching {} of {} listed players while the leaderboard loads", missing.size(), batch.size());
+
+        // The API looks up one profile per request; queue them all at once and let the scheduler run them side by side
+        for (String name : missing) {
+            TierListAPI.fetchPlayerTier(name, RequestScheduler.Priority.PREFETCH)
+                .thenAccept(data -> {
+                    String key = name.toLowerCase(Locale.ROOT);
+                    if (data == null) {
+                        rememberMiss(key);
+                    } else if (seen.contains(key)) {
+                        TierCache.putPrefetched(name, data);
+                    }
+                });
+        }
+    }
+
+    private static void rememberMiss(String key) {
+        long now = System.currentTimeMillis();
+        if (misses.size() >= MAX_MISSES) {
+            misses.values().removeIf(until -> until < now);
+        }
+        if (misses.size() < MAX_MISSES) {
+            misses.put(key, now + MISS_TTL_MS);
+        }
+    }
+}
@@ -0,0 +1,378 @@
+package com.ctltierlist.tiertagger.client.util;
+
+import com.ctltierlist.tiertagger.CTLTierTagger;
+import com.ctltierlist.tiertagger.api.RequestScheduler;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persistent, content-addressed cache for downloaded skin and head PNGs.
+ * Blobs are stored by SHA-1 of their bytes, so identical images served under
+ * different URLs share one file. Cached entries are served from disk immediately
+ * and revalidated in the background with ETag/Last-Modified.
+ */
+public class SkinDiskCache {
+    private static final HttpClient HTTP_CLIENT = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    private static final long MAX_CACHE_BYTES = 64L * 1024 * 1024; // 64 MB
+    private static final long REVALIDATE_AFTER_MS = 6 * 60 * 60 * 1000; // 6 hours
+    private static final long SAVE_DELAY_MS = 5000;
+
+    private static final Map<String, Entry> entries = new HashMap<>();
+    private static Path cacheDir;
+    private static Path blobDir;
+    private static Path indexPath;
+    private static ScheduledExecutorService saveExecutor;
+    private static long totalBytes = 0;
+    private static boolean saveScheduled = false;
+
+    public static synchronized void init(Path configDir) {
+        cacheDir = configDir.resolve("ctl-tiertagger").resolve("skin-cache");
+        blobDir = cacheDir.resolve("blobs");
+        indexPath = cacheDir.resolve("index.json");
+        saveExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "CTL-TierTagger-SkinDiskCache");
+            t.setDaemon(true);
+            return t;
+        });
+        loadIndex();
+    }
+
+    public static boolean isInitialized() {
+        return cacheDir != null;
+    }
+
+    /**
+     * Get image bytes for a URL, from disk when cached, otherwise from the network.
+     * No thread waits on a download, but a cached blob is read on the calling thread,
+     * so call from a worker.
+     * @param priority Scheduling class of the download if one is needed
+     * @return Future of the PNG bytes, completed with null if the download failed
+     */
+    public static CompletableFuture<byte[]> fetch(String url, RequestScheduler.Priority priority) {
+        if (!isInitialized()) {
+            return download(url, priority);
+        }
+
+        Entry entry;
+        synchronized (SkinDiskCache.class) {
+            entry = entries.get(url);
+            if (entry != null) {
+                entry.lastAccess = System.currentTimeMillis();
+                scheduleSave();
+            }
+        }
+
+        if (entry != null) {
+            byte[] bytes = readBlob(entry.hash);
+            if (bytes != null) {
+                if (System.currentTimeMillis() - entry.validatedAt > REVALIDATE_AFTER_MS) {
+                    revalidateAsync(url, entry);
+                }
+                return CompletableFuture.completedFuture(bytes);
+            }
+            // Blob went missing, fall through to a fresh download
+            synchronized (SkinDiskCache.class) {
+                removeEntry(url);
+            }
+        }
+
+        return download(url, priority);
+    }
+
+    /**
+     * Unconditional GET. The response is stored (on 200) on the disk executor.
+     */
+    private static CompletableFuture<byte[]> download(String url, RequestScheduler.Priority priority) {
+        CompletableFuture<HttpResponse<byte[]>> response = send(url, null, priority);
+        CompletableFuture<byte[]> bytes = saveExecutor != null
+            ? response.thenApplyAsync(r -> handleResponse(url, null, r), saveExecutor)
+            : response.thenApply(r -> handleResponse(url, null, r));
+        return bytes.exceptionally(error -> {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            CTLTierTagger.LOGGER.error("Error downloading {}: {}", url, cause.getMessage());
+            return null;
+        });
+    }
+
+    /**
+     * Queue a GET with the request scheduler, conditional on the validator's ETag and
+     * Last-Modified when one is given (background revalidation)
+     */
+    private static CompletableFuture<HttpResponse<byte[]>> send(String url, Entry validator, RequestScheduler.Priority priority) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .uri(URI.create(url))
+                .timeout(Duration.ofSeconds(10))
+                .GET();
+        if (validator != null) {
+            if (validator.etag != null) builder.header("If-None-Match", validator.etag);
+            if (validator.lastModified != null) builder.header("If-Modified-Since", validator.lastModified);
+        }
+        HttpRequest request = builder.build();
+        return RequestScheduler.submit(priority, () ->
+                HTTP_CLIENT.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()));
+    }
+
+    /**
+     * Apply a response: refresh the validator on 304, store the body on 200
+     * @return The new bytes, or null if there are none
+     */
+    private static byte[] handleResponse(String url, Entry validator, HttpResponse<byte[]> response) {
+        if (response.statusCode() == 304 && validator != null) {
+            synchronized (SkinDiskCache.class) {
+                validator.validatedAt = System.currentTimeMillis();
+                scheduleSave();
+            }
+            return null;
+        }
+        if (response.statusCode() != 200) {
+            CTLTierTagger.LOGGER.warn("Failed to download {}: HTTP {}", url, response.statusCode());
+            return null;
+        }
+
+        byte[] bytes = response.body();
+        if (isInitialized()) {
+            store(url, bytes,
+                response.headers().firstValue("ETag").orElse(null),
+                response.headers().firstValue("Last-Modified").orElse(null));
+        }
+        return bytes;
+    }
+
+    /**
+     * Conditional GET in the background. No thread waits on the request;
+     * only the response handling (blob write) runs on the disk executor.
+     */
+    private static void revalidateAsync(String url, Entry entry) {
+        synchronized (SkinDiskCache.class) {
+            if (entry.revalidating) {
+                return;
+            }
+            entry.revalidating = true;
+        }
+        send(url, entry, RequestScheduler.Priority.BACKGROUND)
+            .thenAcceptAsync(response -> handleResponse(url, entry, response), saveExecutor)
+            .whenComplete((ignored, error) -> {
+                if (error != null) {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                    CTLTierTagger.LOGGER.warn("Error revalidating {}: {}", url, cause.getMessage());
+                }
+                synchronized (SkinDiskCache.class) {
+                    entry.revalidating = false;
+                }
+            });
+    }
+
+    private static synchronized void store(String url, byte[] bytes, String etag, String lastModified) {
+        try {
+            String hash = sha1(bytes);
+            Path blob = blobDir.resolve(hash + ".png");
+            boolean newBlob = !Files.exists(blob);
+            if (newBlob) {
+                Files.createDirectories(blobDir);
+                Path tmp = blobDir.resolve(hash + ".tmp");
+                Files.write(tmp, bytes);
+                Files.move(tmp, blob, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                totalBytes += bytes.length;
+            }
+
+            long now = System.currentTimeMillis();
+            Entry previous = entries.put(url, new Entry(hash, bytes.length, etag, lastModified, now, now));
+            if (previous != null && !previous.hash.equals(hash) && !isReferenced(previous.hash)) {
+                deleteBlob(previous.hash, previous.size);
+            }
+            prune();
+            scheduleSave();
+        } catch (Exception e) {
+            CTLTierTagger.LOGGER.warn("Failed to write skin cache entry for {}: {}", url, e.getMessage());
+        }
+    }
+
+    private static byte[] readBlob(String hash) {
+        try {
+            Path blob = blobDir.resolve(hash + ".png");
+            return Files.exists(blob) ? Files.readAllBytes(blob) : null;
+        } catch (Exception e) {
+            CTLTierTagger.LOGGER.warn("Failed to read skin cache blob {}: {}", hash, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Remove an index entry, deleting its blob if no other entry references it.
+     * Caller must hold the class lock.
+     */
+    private static void removeEntry(String url) {
+        Entry removed = entries.remove(url);
+        if (removed != null && !isReferenced(removed.hash)) {
+            deleteBlob(removed.hash, removed.size);
+        }
+    }
+
+    private static boolean isReferenced(String hash) {
+        for (Entry entry : entries.values()) {
+            if (entry.hash.equals(hash)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void deleteBlob(String hash, long size) {
+        try {
+            if (Files.deleteIfExists(blobDir.resolve(hash + ".png"))) {
+                totalBytes -= size;
+            }
+        } catch (Exception e) {
+            CTLTierTagger.LOGGER.warn("Failed to delete skin cache blob {}: {}", hash, e.getMessage());
+        }
+    }
+
+    /**
+     * Evict least recently used entries until the blob store fits the size cap.
+     * Caller must hold the class lock.
+     */
+    private static void prune() {
+        if (totalBytes <= MAX_CACHE_BYTES) {
+            return;
+        }
+        List<Map.Entry<String, Entry>> byAccess = new ArrayList<>(entries.entrySet());
+        byAccess.sort((a, b) -> Long.compare(a.getValue().lastAccess, b.getValue().lastAccess));
+        for (Map.Entry<String, Entry> eldest : byAccess) {
+            if (totalBytes <= MAX_CACHE_BYTES) {
+                break;
+            }
+            removeEntry(eldest.getKey());
+        }
+        CTLTierTagger.LOGGER.debug("Pruned skin cache to {} entries ({} KB)", entries.size(), totalBytes / 1024);
+    }
+
+    private static void scheduleSave() {
+        if (saveScheduled || saveExecutor == null) {
+            return;
+        }
+        saveScheduled = true;
+        saveExecutor.schedule(SkinDiskCache::saveIndex, SAVE_DELAY_MS, TimeUnit.MILLISECONDS);
+    }
+
+    private static void saveIndex() {
+        JsonObject json = new JsonObject();
+        synchronized (SkinDiskCache.class) {
+            saveScheduled = false;
+            for (Map.Entry<String, Entry> e : entries.entrySet()) {
+                Entry entry = e.getValue();
+                JsonObject obj = new JsonObject();
+                obj.addProperty("hash", entry.hash);
+                obj.addProperty("size", entry.size);
+                if (entry.etag != null) obj.addProperty("etag", entry.etag);
+                if (entry.lastModified != null) obj.addProperty("lastModified", entry.lastModified);
+                obj.addProperty("lastAccess", entry.lastAccess);
+                obj.addProperty("validatedAt", entry.validatedAt);
+                json.add(e.getKey(), obj);
+            }
+        }
+        try {
+            Files.createDirectories(cacheDir);
+            Path tmp = cacheDir.resolve("index.json.tmp");
+            Files.writeString(tmp, GSON.toJson(json));
+            Files.move(tmp, indexPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (Exception e) {
+            CTLTierTagger.LOGGER.error("Failed to save skin cache index: {}", e.getMessage());
+        }
+    }
+
+    private static void loadIndex() {
+        entries.clear();
+        totalBytes = 0;
+        try {
+            if (!Files.exists(indexPath)) {
+                return;
+            }
+            JsonObject json = JsonParser.parseString(Files.readString(indexPath)).getAsJsonObject();
+            Set<String> counted = new HashSet<>();
+            for (String url : json.keySet()) {
+                JsonObject obj = json.getAsJsonObject(url);
+                String hash = obj.get("hash").getAsString();
+                long size = obj.get("size").getAsLong();
+                if (!Files.exists(blobDir.resolve(hash + ".png"))) {
+                    continue;
+                }
+                entries.put(url, new Entry(
+                    hash,
+                    size,
+                    obj.has("etag") ? obj.get("etag").getAsString() : null,
+                    obj.has("lastModified") ? obj.get("lastModified").getAsString() : null,
+                    obj.has("lastAccess") ? obj.get("lastAccess").getAsLong() : 0,
+                    obj.has("validatedAt") ? obj.get("validatedAt").getAsLong() : 0
+                ));
+                if (counted.add(hash)) {
+                    totalBytes += size;
+                }
+            }
+            prune();
+            CTLTierTagger.LOGGER.info("Skin disk cache loaded: {} entries ({} KB)", entries.size(), totalBytes / 1024);
+        } catch (Exception e) {
+            CTLTierTagger.LOGGER.warn("Failed to load skin cache index: {}", e.getMessage());
+            entries.clear();
+            totalBytes = 0;
+        }
+    }
+
+    private static String sha1(byte[] bytes) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-1").digest(bytes));
+    }
+
+    public static synchronized int getEntryCount() {
+        return entries.size();
+    }
+
+    public static synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    private static class Entry {
+        final String hash;
+        final long size;
+        final String etag;
+        final String lastModified;
+        long lastAccess;
+        long validatedAt;
+        boolean revalidating = false;
+
+        Entry(String hash, long size, String etag, String lastModified, long lastAccess, long validatedAt) {
+            this.hash = hash;
+            this.size = size;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.lastAccess = lastAccess;
+            this.validatedAt = validatedAt;
+        }
+    }
+}
@@ -1,198 +1,96 @@
 package com.ctltierlist.tiertagger.client.util;
 
 import com.ctltierlist.tiertagger.CTLTierTagger;
+import com.ctltierlist.tiertagger.api.RequestScheduler;
+import com.ctltierlist.tiertagger.client.render.HeadAtlas;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.gui.widget.PlayerSkinWidget;
 import net.minecraft.client.texture.NativeImage;
-import net.minecraft.client.texture.NativeImageBackedTexture;
-import net.minecraft.util.ApiServices;
 import net.minecraft.util.Identifier;
 
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
-import java.lang.reflect.Constructor;
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
-import java.time.Duration;
+import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.Supplier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class SkinLoader {
-    private static final HttpClient HTTP_CLIENT = HttpClient.newBuilder()
-            .connectTimeout(Duration.ofSeconds(10))
-            .build();
-    
     private static final String SKIN_DOWNLOAD_URL = "https://mineskin.eu/download/";
     private static final String HEAD_URL = "https://mineskin.eu/helm/";
     
-    private static final Map<String, Identifier> skinCache = new ConcurrentHashMap<>();
-    private static final Map<String, Identifier> headCache = new ConcurrentHashMap<>();
-    private static final Map<String, java.util.UUID> uuidCache = new ConcurrentHashMap<>();
-    
-    /**
-     * Fetch real UUID from Mojang API
-     */
-    private static java.util.UUID fetchMojangUUID(String playerName) {
-        // Check cache first
-        if (uuidCache.containsKey(playerName.toLowerCase())) {
-            return uuidCache.get(playerName.toLowerCase());
-        }
+    private enum TextureKind {
+        SKIN("skin", "skins/", SKIN_DOWNLOAD_URL),
+        HEAD("head", "heads/", HEAD_URL);
         
-        try {
-            String url = "https://api.mojang.com/users/profiles/minecraft/" + playerName;
-            HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(url))
-                .timeout(Duration.ofSeconds(5))
-                .GET()
-                .build();
-            HttpResponse<String> response = HTTP_CLIENT.send(request, HttpResponse.BodyHandlers.ofString());
-            
-            if (response.statusCode() == 200 && !response.body().isEmpty()) {
-                // Parse JSON using Gson: {"id":"uuid-without-dashes","name":"PlayerName"}
-                String json = response.body();
-                com.google.gson.JsonObject jsonObj = com.google.gson.JsonParser.parseString(json).getAsJsonObject();
-                if (jsonObj.has("id")) {
-                    String id = jsonObj.get("id").getAsString();
-                    // Insert dashes into UUID
-                    String uuidStr = id.replaceFirst(
-                        "(\\w{8})(\\w{4})(\\w{4})(\\w{4})(\\w{12})",
-                        "$1-$2-$3-$4-$5"
-                    );
-                    java.util.UUID uuid = java.util.UUID.fromString(uuidStr);
-                    uuidCache.put(playerName.toLowerCase(), uuid);
-                    CTLTierTagger.LOGGER.info("Fetched Mojang UUID for {}: {}", playerName, uuid);
-                    return uuid;
-                }
-            }
-        } catch (Exception e) {
-            CTLTierTagger.LOGGER.warn("Failed to fetch Mojang UUID for {}: {}", playerName, e.getMessage());
+        final String displayName;
+        final String pathPrefix;
+        final String baseUrl;
+        
+        TextureKind(String displayName, String pathPrefix, String baseUrl) {
+            this.displayName = displayName;
+            this.pathPrefix = pathPrefix;
+            this.baseUrl = baseUrl;
         }
-        return null;
     }
     
+    // Bounded LRU caches; evicted textures are destroyed to release native and GPU memory
+    private static final TextureCache skinCache = new TextureCache("skins", 64, 16L * 1024 * 1024);
+    private static final TextureCache headCache = new TextureCache("heads", 256, 32L * 1024 * 1024);
+    // Downloads in progress, keyed by texture kind and normalized name
+    private static final Map<String, CompletableFuture<Identifier>> inFlight = new ConcurrentHashMap<>();
+    private static final Map<String, CompletableFuture<HeadAtlas.Slot>> atlasInFlight = new ConcurrentHashMap<>();
+    private static final AtomicLong textureGeneration = new AtomicLong();
+    // Disk reads and image decoding; downloads and UUID lookups never hold one of these threads
+    private static final AtomicInteger ioThreads = new AtomicInteger();
+    private static final ExecutorService ioExecutor = Executors.newFixedThreadPool(2, r -> {
+        Thread t = new Thread(r, "CTL-TierTagger-SkinIO-" + ioThreads.incrementAndGet());
+        t.setDaemon(true);
+        return t;
+    });
+    
     /**
      * Load full skin texture for 3D rendering
      */
     public static CompletableFuture<Identifier> loadSkinTexture(String playerName) {
-        // Check cache first
-        if (skinCache.containsKey(playerName.toLowerCase())) {
-            return CompletableFuture.completedFuture(skinCache.get(playerName.toLowerCase()));
-        }
-        
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                String url = SKIN_DOWNLOAD_URL + playerName;
-                HttpRequest request = HttpRequest.newBuilder()
-                        .uri(URI.create(url))
-                        .timeout(Duration.ofSeconds(10))
-                        .GET()
-                        .build();
-
-                HttpResponse<InputStream> response = HTTP_CLIENT.send(request, HttpResponse.BodyHandlers.ofInputStream());
-
-                if (response.statusCode() == 200) {
-                    try (InputStream inputStream = response.body()) {
-                        NativeImage image = NativeImage.read(inputStream);
-                        
-                        // Register texture on client thread
-                        Identifier textureId = Identifier.of("ctl-tiertagger", "skins/" + playerName.toLowerCase());
-                        
-                        // Wait for texture registration to complete
-                        CompletableFuture<Void> registrationFuture = new CompletableFuture<>();
-                        MinecraftClient.getInstance().execute(() -> {
-                            try {
-                                MinecraftClient.getInstance().getTextureManager()
-                                        .registerTexture(textureId, new NativeImageBackedTexture(image));
-                                registrationFuture.complete(null);
-                            } catch (Exception e) {
-                                registrationFuture.completeExceptionally(e);
-                            }
-                        });
-                        
-                        registrationFuture.join(); // Wait for registration
-                        
-                        skinCache.put(playerName.toLowerCase(), textureId);
-                        CTLTierTagger.LOGGER.info("Loaded skin for {}: {}", playerName, textureId);
-                        
-                        return textureId;
-                    }
-                } else {
-                    CTLTierTagger.LOGGER.warn("Failed to load skin for {}: HTTP {}", playerName, response.statusCode());
-                    return null;
-                }
-            } catch (Exception e) {
-                CTLTierTagger.LOGGER.error("Error loading skin for {}: {}", playerName, e.getMessage());
-                return null;
-            }
-        });
+        return loadTexture(TextureKind.SKIN, playerName, RequestScheduler.Priority.SEARCH);
     }
     
     /**
      * Load skin and create a PlayerSkinWidget with correct size (60x144)
-     * Downloads skin directly from mineskin.eu and creates SkinTextures manually
+     * Reuses the cached (or in-flight) skin texture and creates SkinTextures manually
      */
     public static CompletableFuture<PlayerSkinWidget> loadSkinAndCreateWidget(String playerName, MinecraftClient client) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                // 1. Download skin from mineskin.eu
-                String url = "https://mineskin.eu/skin/" + playerName;
-                HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(url))
-                    .timeout(Duration.ofSeconds(10))
-                    .GET()
-                    .build();
-
-                HttpResponse<InputStream> response = HTTP_CLIENT.send(request, HttpResponse.BodyHandlers.ofInputStream());
-
-                if (response.statusCode() != 200) {
-                    CTLTierTagger.LOGGER.warn("Failed to download skin for {}: HTTP {}", playerName, response.statusCode());
-                    return null;
-                }
-
-                // 2. Register texture
-                Identifier textureId = Identifier.of("ctl-tiertagger", "skins/" + playerName.toLowerCase());
-                try (InputStream inputStream = response.body()) {
-                    NativeImage image = NativeImage.read(inputStream);
-                    
-                    CompletableFuture<Void> registrationFuture = new CompletableFuture<>();
-                    client.execute(() -> {
-                        try {
-                            client.getTextureManager().registerTexture(textureId, new NativeImageBackedTexture(image));
-                            registrationFuture.complete(null);
-                        } catch (Exception e) {
-                            registrationFuture.completeExceptionally(e);
-                        }
-                    });
-                    registrationFuture.join();
-                }
-
-                // 3. Create SkinTextures manually
-                net.minecraft.client.util.SkinTextures skinTextures = new net.minecraft.client.util.SkinTextures(
-                    textureId,
-                    url,
-                    null,
-                    null,
-                    net.minecraft.client.util.SkinTextures.Model.WIDE,
-                    false
-                );
-
-                // 4. Create PlayerSkinWidget with supplier
-                final var finalSkinTextures = skinTextures;
-                PlayerSkinWidget widget = new PlayerSkinWidget(
-                    60, 144,
-                    client.getEntityModelLoader(),
-                    () -> finalSkinTextures
-                );
-                
-                CTLTierTagger.LOGGER.info("Created PlayerSkinWidget for {} using mineskin.eu", playerName);
-                return widget;
-            } catch (Exception e) {
-                CTLTierTagger.LOGGER.error("Error creating skin widget for {}: {}", playerName, e.getMessage());
+        String url = TextureKind.SKIN.baseUrl + playerName;
+        
+        return loadTexture(TextureKind.SKIN, playerName, RequestScheduler.Priority.SEARCH).thenApply(textureId -> {
+            if (textureId == null) {
                 return null;
             }
+            
+            // Create SkinTextures manually
+            net.minecraft.client.util.SkinTextures skinTextures = new net.minecraft.client.util.SkinTextures(
+                textureId,
+                url,
+                null,
+                null,
+                net.minecraft.client.util.SkinTextures.Model.WIDE,
+                false
+            );
+
+            // Create PlayerSkinWidget with supplier
+            PlayerSkinWidget widget = new PlayerSkinWidget(
+                60, 144,
+                client.getEntityModelLoader(),
+                () -> skinTextures
+            );
+            
+            CTLTierTagger.LOGGER.info("Created PlayerSkinWidget for {} using mineskin.eu", playerName);
+            return widget;
         });
     }
 
@@ -200,54 +98,174 @@ public class SkinLoader {
      * Load head texture for 2D rendering (search results)
      */
     public static CompletableFuture<Identifier> loadHeadTexture(String playerName) {
+        return loadHeadTexture(playerName, RequestScheduler.Priority.VISIBLE);
+    }
+    
+    /**
+     * Load head texture, downloading at the given priority (e.g. prefetch for players not on screen yet)
+     */
+    public static CompletableFuture<Identifier> loadHeadTexture(String playerName, RequestScheduler.Priority priority) {
+        return loadTexture(TextureKind.HEAD, playerName, priority);
+    }
+    
+    /**
+     * Shared load path: texture cache, then an in-flight request for the same
+     * name and kind, then a new download. Concurrent callers share one download,
+     * one decode and one texture registration.
+     */
+    private static CompletableFuture<Identifier> loadTexture(TextureKind kind, String playerName, RequestScheduler.Priority priority) {
+        String name = normalizeName(playerName);
+        TextureCache cache = getCache(kind);
+        
         // Check cache first
-        if (headCache.containsKey(playerName.toLowerCase())) {
-            return CompletableFuture.completedFuture(headCache.get(playerName.toLowerCase()));
+        Identifier cached = cache.get(name);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
         }
         
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                String url = HEAD_URL + playerName;
-                HttpRequest request = HttpRequest.newBuilder()
-                        .uri(URI.create(url))
-                        .timeout(Duration.ofSeconds(10))
-                        .GET()
-                        .build();
-
-                HttpResponse<InputStream> response = HTTP_CLIENT.send(request, HttpResponse.BodyHandlers.ofInputStream());
-
-                if (response.statusCode() == 200) {
-                    try (InputStream inputStream = response.body()) {
-                        NativeImage image = NativeImage.read(inputStream);
-                        
-                        // Register texture on client thread
-                        Identifier textureId = Identifier.of("ctl-tiertagger", "heads/" + playerName.toLowerCase());
-                        
-                        MinecraftClient.getInstance().execute(() -> {
-                            MinecraftClient.getInstance().getTextureManager()
-                                    .registerTexture(textureId, new NativeImageBackedTexture(image));
-                        });
-                        
-                        headCache.put(playerName.toLowerCase(), textureId);
-                        CTLTierTagger.LOGGER.info("Loaded head for {}", playerName);
-                        return textureId;
-                    }
-                } else {
-                    CTLTierTagger.LOGGER.warn("Failed to load head for {}: HTTP {}", playerName, response.statusCode());
-                    return null;
+        // Join a request that is already running
+        String key = kind.name() + ":" + name;
+        CompletableFuture<Identifier> promise = new CompletableFuture<>();
+        CompletableFuture<Identifier> existing = inFlight.putIfAbsent(key, promise);
+        if (existing != null) {
+            return existing;
+        }
+        
+        // A fresh id per load, so a destroy still pending for an evicted copy cannot hit this one
+        Identifier textureId = Identifier.of("ctl-tiertagger", kind.pathPrefix + name + "/" + textureGeneration.incrementAndGet());
+        
+        // Resolve, fetch and decode without blocking any thread, then upload on the render thread
+        imageUrl(kind, name, priority)
+            .thenComposeAsync(url -> SkinDiskCache.fetch(url, priority), ioExecutor)
+            .thenApplyAsync(bytes -> decodeImage(bytes, playerName, kind.displayName), ioExecutor)
+            .thenCompose(image -> {
+                if (image == null) {
+                    return CompletableFuture.completedFuture((Identifier) null);
                 }
-            } catch (Exception e) {
-                CTLTierTagger.LOGGER.error("Error loading head for {}: {}", playerName, e.getMessage());
+                long nativeBytes = getNativeBytes(image);
+                return TextureUploadQueue.upload(textureId, image).thenApply(id -> {
+                    cache.put(name, id, nativeBytes);
+                    CTLTierTagger.LOGGER.info("Loaded {} for {}: {}", kind.displayName, playerName, id);
+                    return id;
+                });
+            })
+            .exceptionally(e -> {
+                CTLTierTagger.LOGGER.error("Error loading {} for {}: {}", kind.displayName, playerName, e.getMessage());
                 return null;
-            }
-        });
+            })
+            .whenComplete((id, error) -> {
+                inFlight.remove(key, promise);
+                promise.complete(id);
+            });
+        
+        return promise;
+    }
+    
+    /**
+     * Load a player's head into the shared head atlas for list rendering.
+     * Call from the render thread; the returned slot is drawn with {@link HeadAtlas#begin}.
+     */
+    public static CompletableFuture<HeadAtlas.Slot> loadHeadIntoAtlas(String playerName) {
+        return loadHeadIntoAtlas(playerName, RequestScheduler.Priority.VISIBLE);
+    }
+    
+    /**
+     * Load a player's head into the atlas, downloading at the given priority
+     */
+    public static CompletableFuture<HeadAtlas.Slot> loadHeadIntoAtlas(String playerName, RequestScheduler.Priority priority) {
+        String name = normalizeName(playerName);
+        HeadAtlas.Slot slot = HeadAtlas.getSlot(name);
+        if (slot != null) {
+            return CompletableFuture.completedFuture(slot);
+        }
+        
+        CompletableFuture<HeadAtlas.Slot> promise = new CompletableFuture<>();
+        CompletableFuture<HeadAtlas.Slot> existing = atlasInFlight.putIfAbsent(name, promise);
+        if (existing != null) {
+            return existing;
+        }
+        
+        // Decode and downscale off-thread, pack into the atlas on the render thread
+        imageUrl(TextureKind.HEAD, name, priority)
+            .thenComposeAsync(url -> SkinDiskCache.fetch(url, priority), ioExecutor)
+            .thenApplyAsync(bytes -> {
+                NativeImage image = decodeImage(bytes, playerName, TextureKind.HEAD.displayName);
+                return image != null ? HeadAtlas.downscale(image) : null;
+            }, ioExecutor)
+            .thenCompose(image -> {
+                if (image == null) {
+                    return CompletableFuture.completedFuture((HeadAtlas.Slot) null);
+                }
+                return TextureUploadQueue.submit(() -> HeadAtlas.pack(name, image));
+            })
+            .exceptionally(e -> {
+                CTLTierTagger.LOGGER.error("Error packing head for {}: {}", playerName, e.getMessage());
+                return null;
+            })
+            .whenComplete((packed, error) -> {
+                atlasInFlight.remove(name, promise);
+                promise.complete(packed);
+            });
+        
+        return promise;
+    }
+    
+    private static TextureCache getCache(TextureKind kind) {
+        return kind == TextureKind.SKIN ? skinCache : headCache;
     }
     
     /**
-     * Clear all cached textures
+     * Image URL for a player: by UUID, so the disk cache entry survives renames. Only a
+     * name with no profile is fetched by name; a failed lookup fails the load instead of
+     * storing the same image a second time under the name URL.
+     */
+    private static CompletableFuture<String> imageUrl(TextureKind kind, String name, RequestScheduler.Priority priority) {
+        return UuidResolver.resolve(name, priority)
+            .thenApply(uuid -> kind.baseUrl + (uuid != null ? uuid.toString() : name));
+    }
+    
+    private static String normalizeName(String playerName) {
+        return playerName.trim().toLowerCase(Locale.ROOT);
+    }
+    
+    /**
+     * Decode fetched image bytes. Runs on the IO executor.
+     * @return Decoded image, or null if unavailable
+     */
+    private static NativeImage decodeImage(byte[] bytes, String playerName, String kind) {
+        if (bytes == null) {
+            CTLTierTagger.LOGGER.warn("Failed to load {} for {}", kind, playerName);
+            return null;
+        }
+        try (InputStream inputStream = new ByteArrayInputStream(bytes)) {
+            return NativeImage.read(inputStream);
+        } catch (Exception e) {
+            CTLTierTagger.LOGGER.error("Error decoding {} for {}: {}", kind, playerName, e.getMessage());
+            return null;
+        }
+    }
+    
+    /**
+     * Native memory held by a decoded image (RGBA, 4 bytes per pixel)
+     */
+    private static long getNativeBytes(NativeImage image) {
+        return (long) image.getWidth() * image.getHeight() * 4;
+    }
+    
+    /**
+     * Clear all cached textures and release their native/GPU memory
      */
     public static void clearCache() {
         skinCache.clear();
         headCache.clear();
     }
+    
+    public static TextureCache.Stats getSkinCacheStats() {
+        return skinCache.getStats();
+    }
+    
+    public static TextureCache.Stats getHeadCacheStats() {
+        return headCache.getStats();
+    }
+
 }
@@ -0,0 +1,194 @@
+package com.ctltierlist.tiertagger.client.util;
+
+import com.ctltierlist.tiertagger.CTLTierTagger;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.texture.TextureManager;
+import net.minecraft.util.Identifier;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * LRU cache of registered textures, bounded by entry count and native memory.
+ * Evicted textures are destroyed through the TextureManager on the render thread,
+ * which frees both the NativeImage and the GPU texture. Destruction waits for a full
+ * frame to pass, so a texture evicted while a frame is drawn can still be drawn by it.
+ * Callers must register every load under a fresh identifier (see SkinLoader), so a
+ * pending destroy can never hit a texture registered after the eviction.
+ */
+public class TextureCache {
+    // Evicted since the current frame started, from any thread
+    private static final ConcurrentLinkedQueue<Identifier> evictedQueue = new ConcurrentLinkedQueue<>();
+    // Evicted during the previous frame, destroyed when the next one starts (render thread only)
+    private static final List<Identifier> retiring = new ArrayList<>();
+
+    private final String name;
+    private final int maxEntries;
+    private final long maxBytes;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes = 0;
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+
+    public TextureCache(String name, int maxEntries, long maxBytes) {
+        this.name = name;
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Get a cached texture and mark it as recently used
+     */
+    public synchronized Identifier get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.textureId;
+    }
+
+    public synchronized boolean contains(String key) {
+        return entries.containsKey(key);
+    }
+
+    /**
+     * Track a registered texture, evicting least recently used entries until within bounds
+     * @param nativeBytes Native memory held by the texture (width * height * 4)
+     */
+    public void put(String key, Identifier textureId, long nativeBytes) {
+        List<Identifier> evicted = new ArrayList<>();
+        synchronized (this) {
+            Entry previous = entries.put(key, new Entry(textureId, nativeBytes));
+            if (previous != null) {
+                totalBytes -= previous.nativeBytes;
+                if (!previous.textureId.equals(textureId)) {
+                    evicted.add(previous.textureId);
+                }
+            }
+            totalBytes += nativeBytes;
+
+            Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+            while ((entries.size() > maxEntries || totalBytes > maxBytes) && it.hasNext()) {
+                Map.Entry<String, Entry> eldest = it.next();
+                if (eldest.getKey().equals(key)) {
+                    continue; // Never evict the entry we just added
+                }
+                it.remove();
+                totalBytes -= eldest.getValue().nativeBytes;
+                evictions++;
+                evicted.add(eldest.getValue().textureId);
+            }
+        }
+        destroyTextures(evicted);
+    }
+
+    /**
+     * Remove an entry and destroy its texture
+     */
+    public void remove(String key) {
+        Entry removed;
+        synchronized (this) {
+            removed = entries.remove(key);
+            if (removed != null) {
+                totalBytes -= removed.nativeBytes;
+            }
+        }
+        if (removed != null) {
+            destroyTextures(List.of(removed.textureId));
+        }
+    }
+
+    /**
+     * Drop all entries and destroy their textures
+     */
+    public void clear() {
+        List<Identifier> removed = new ArrayList<>();
+        synchronized (this) {
+            for (Entry entry : entries.values()) {
+                removed.add(entry.textureId);
+            }
+            entries.clear();
+            totalBytes = 0;
+        }
+        destroyTextures(removed);
+    }
+
+    public synchronized Stats getStats() {
+        return new Stats(name, entries.size(), maxEntries, totalBytes, maxBytes, hits, misses, evictions);
+    }
+
+    private void destroyTextures(List<Identifier> textureIds) {
+        if (textureIds.isEmpty()) {
+            return;
+        }
+        evictedQueue.addAll(textureIds);
+        CTLTierTagger.LOGGER.debug("Released {} textures from {} cache", textureIds.size(), name);
+    }
+
+    /**
+     * Destroy textures evicted before the previous frame started. Called once per frame on
+     * the render thread, before anything is drawn.
+     */
+    public static void destroyEvicted() {
+        if (!retiring.isEmpty()) {
+            TextureManager textureManager = MinecraftClient.getInstance().getTextureManager();
+            for (Identifier textureId : retiring) {
+                textureManager.destroyTexture(textureId);
+            }
+            retiring.clear();
+        }
+        Identifier textureId;
+        while ((textureId = evictedQueue.poll()) != null) {
+            retiring.add(textureId);
+        }
+    }
+
+    private static class Entry {
+        final Identifier textureId;
+        final long nativeBytes;
+
+        Entry(Identifier textureId, long nativeBytes) {
+            this.textureId = textureId;
+            this.nativeBytes = nativeBytes;
+        }
+    }
+
+    /**
+     * Snapshot of cache occupancy
+     */
+    public static class Stats {
+        public final String name;
+        public final int entries;
+        public final int maxEntries;
+        public final long bytes;
+        public final long maxBytes;
+        public final long hits;
+        public final long misses;
+        public final long evictions;
+
+        public Stats(String name, int entries, int maxEntries, long bytes, long maxBytes,
+                     long hits, long misses, long evictions) {
+            this.name = name;
+            this.entries = entries;
+            this.maxEntries = maxEntries;
+            this.bytes = bytes;
+            this.maxBytes = maxBytes;
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %d/%d textures, %d/%d KB, hits=%d, misses=%d, evictions=%d",
+                name, entries, maxEntries, bytes / 1024, maxBytes / 1024, hits, misses, evictions);
+        }
+    }
+}
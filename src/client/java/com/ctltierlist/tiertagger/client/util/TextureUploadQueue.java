@@ -0,0 +1,94 @@
+package com.ctltierlist.tiertagger.client.util;
+
+import com.ctltierlist.tiertagger.CTLTierTagger;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.texture.NativeImage;
+import net.minecraft.client.texture.NativeImageBackedTexture;
+import net.minecraft.util.Identifier;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
+
+/**
+ * Queue of GPU uploads that must run on the render thread.
+ * Images are decoded off-thread and queued here; the render thread drains a bounded
+ * number of uploads per frame under a time budget, so worker threads never block on
+ * the client thread and a burst of skins is spread across frames.
+ */
+public class TextureUploadQueue {
+    private static final int MAX_UPLOADS_PER_FRAME = 4;
+    private static final long FRAME_BUDGET_NS = 2_000_000; // 2 ms
+
+    private static final ConcurrentLinkedQueue<PendingUpload<?>> queue = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Register a decoded image as a texture on the render thread
+     * @return Future completed with the texture id once it is uploaded
+     */
+    public static CompletableFuture<Identifier> upload(Identifier textureId, NativeImage image) {
+        CompletableFuture<Identifier> future = submit(() -> {
+            MinecraftClient.getInstance().getTextureManager()
+                    .registerTexture(textureId, new NativeImageBackedTexture(image));
+            return textureId;
+        });
+        future.whenComplete((id, error) -> {
+            if (error != null) {
+                image.close(); // Never handed to a texture, free it here
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Queue arbitrary render-thread work, completed when drained
+     */
+    public static <T> CompletableFuture<T> submit(Supplier<T> task) {
+        PendingUpload<T> pending = new PendingUpload<>(task);
+        queue.add(pending);
+        return pending.future;
+    }
+
+    /**
+     * Run queued uploads, up to MAX_UPLOADS_PER_FRAME or FRAME_BUDGET_NS. Called once per frame on the render thread.
+     */
+    public static void drain() {
+        if (queue.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        int uploaded = 0;
+        PendingUpload<?> pending;
+        while (uploaded < MAX_UPLOADS_PER_FRAME
+                && System.nanoTime() - start < FRAME_BUDGET_NS
+                && (pending = queue.poll()) != null) {
+            pending.run();
+            uploaded++;
+        }
+    }
+
+    public static int getPendingCount() {
+        return queue.size();
+    }
+
+    private static class PendingUpload<T> {
+        final Supplier<T> task;
+        final CompletableFuture<T> future = new CompletableFuture<>();
+
+        PendingUpload(Supplier<T> task) {
+            this.task = task;
+        }
+
+        void run() {
+            if (future.isDone()) {
+                return; // Cancelled by the caller
+            }
+            try {
+                future.complete(task.get());
+            } catch (Exception e) {
+                CTLTierTagger.LOGGER.error("Texture upload failed: {}", e.getMessage());
+                future.completeExceptionally(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,410 @@
+package com.ctltierlist.tiertagger.client.util;
+
+import com.ctltierlist.tiertagger.CTLTierTagger;
+import com.ctltierlist.tiertagger.api.RequestScheduler;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolves player names to UUIDs through Mojang's bulk profile endpoint.
+ * Lookups are collected over a short window and sent up to ten names per POST.
+ * Rate limiting (HTTP 429) triggers exponential backoff, and results are
+ * persisted to disk with a TTL since UUIDs almost never change.
+ * {@link SkinLoader} resolves names here so skins and heads are fetched by UUID.
+ */
+public class UuidResolver {
+    private static final String DEFAULT_BULK_URL = "https://api.minecraftservices.com/minecraft/profile/lookup/bulk/byname";
+    private static final HttpClient HTTP_CLIENT = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    private static final int MAX_NAMES_PER_REQUEST = 10;
+    private static final long BATCH_WINDOW_MS = 50;
+    private static final long TTL_MS = 7L * 24 * 60 * 60 * 1000; // 7 days
+    private static final long NOT_FOUND_TTL_MS = 60 * 60 * 1000; // 1 hour
+    private static final long MIN_BACKOFF_MS = 1000;
+    private static final long MAX_BACKOFF_MS = 60 * 1000;
+    private static final long SAVE_DELAY_MS = 5000;
+
+    private static final Map<String, CachedUuid> cache = new ConcurrentHashMap<>();
+    private static final Map<String, CompletableFuture<UUID>> pending = new LinkedHashMap<>();
+    // Highest priority any caller asked for, per pending name
+    private static final Map<String, RequestScheduler.Priority> pendingPriority = new HashMap<>();
+    private static final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "CTL-TierTagger-UuidResolver");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private static volatile String bulkUrl = DEFAULT_BULK_URL;
+    private static Path cacheFilePath;
+    private static boolean flushScheduled = false;
+    private static boolean saveScheduled = false;
+    private static long backoffMs = 0;
+
+    public static void init(Path configDir) {
+        cacheFilePath = configDir.resolve("ctl-tiertagger").resolve("uuids.json");
+        // e.g. -Dctltiertagger.mojangBulkUrl=http://localhost:8787/profile/lookup/bulk/byname for the dev stand-in
+        String override = System.getProperty("ctltiertagger.mojangBulkUrl");
+        if (override != null && !override.isBlank()) {
+            setBulkEndpoint(override);
+        }
+        executor.execute(UuidResolver::loadFromDisk);
+    }
+
+    /**
+     * Point the resolver at a different bulk endpoint (e.g. a local stand-in)
+     */
+    public static void setBulkEndpoint(String url) {
+        bulkUrl = url != null ? url : DEFAULT_BULK_URL;
+    }
+
+    /**
+     * Resolve a single name at prefetch priority. Completes with null if the name has no
+     * profile, and exceptionally if the lookup failed.
+     */
+    public static CompletableFuture<UUID> resolve(String playerName) {
+        return resolve(playerName, RequestScheduler.Priority.PREFETCH);
+    }
+
+    /**
+     * Resolve a single name. The bulk request carrying it is sent at the highest
+     * priority of the names in it, and higher priority names are batched first.
+     */
+    public static CompletableFuture<UUID> resolve(String playerName, RequestScheduler.Priority priority) {
+        String name = normalize(playerName);
+        CachedUuid cached = cache.get(name);
+        if (cached != null && !cached.isExpired()) {
+            return CompletableFuture.completedFuture(cached.uuid);
+        }
+
+        synchronized (UuidResolver.class) {
+            CompletableFuture<UUID> future = pending.get(name);
+            if (future == null) {
+                future = new CompletableFuture<>();
+                pending.put(name, future);
+                scheduleFlush(BATCH_WINDOW_MS);
+            }
+            pendingPriority.merge(name, priority, (a, b) -> a.compareTo(b) <= 0 ? a : b);
+            return future;
+        }
+    }
+
+    /**
+     * Resolve several names; they are batched together with any other pending lookups.
+     * Names without a profile or whose lookup failed map to null.
+     */
+    public static CompletableFuture<Map<String, UUID>> resolveAll(Collection<String> playerNames) {
+        Map<String, CompletableFuture<UUID>> futures = new LinkedHashMap<>();
+        for (String playerName : playerNames) {
+            futures.put(playerName, resolve(playerName).exceptionally(error -> null));
+        }
+        return CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0])).thenApply(v -> {
+            Map<String, UUID> result = new LinkedHashMap<>();
+            futures.forEach((name, future) -> result.put(name, future.join()));
+            return result;
+        });
+    }
+
+    /**
+     * Get a cached UUID without triggering a lookup
+     */
+    public static UUID getCached(String playerName) {
+        CachedUuid cached = cache.get(normalize(playerName));
+        return cached != null && !cached.isExpired() ? cached.uuid : null;
+    }
+
+    /**
+     * Record a known mapping (e.g. from a server's player list) without a network call
+     */
+    public static void put(String playerName, UUID uuid) {
+        String name = normalize(playerName);
+        cache.put(name, new CachedUuid(uuid, System.currentTimeMillis()));
+        CompletableFuture<UUID> future;
+        synchronized (UuidResolver.class) {
+            future = pending.remove(name);
+            pendingPriority.remove(name);
+            scheduleSave();
+        }
+        if (future != null) {
+            future.complete(uuid);
+        }
+    }
+
+    public static int getCacheSize() {
+        return cache.size();
+    }
+
+    public static synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    private static synchronized void scheduleFlush(long delayMs) {
+        if (flushScheduled) {
+            return;
+        }
+        flushScheduled = true;
+        executor.schedule(UuidResolver::flush, Math.max(delayMs, backoffMs), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Send one bulk request for up to ten pending names, highest priority first, without
+     * waiting for it; the next batch is scheduled straight away
+     */
+    private static void flush() {
+        Map<String, CompletableFuture<UUID>> batch = new LinkedHashMap<>();
+        RequestScheduler.Priority batchPriority = null;
+        synchronized (UuidResolver.class) {
+            flushScheduled = false;
+            for (RequestScheduler.Priority priority : RequestScheduler.Priority.values()) {
+                Iterator<Map.Entry<String, CompletableFuture<UUID>>> it = pending.entrySet().iterator();
+                while (it.hasNext() && batch.size() < MAX_NAMES_PER_REQUEST) {
+                    Map.Entry<String, CompletableFuture<UUID>> entry = it.next();
+                    if (pendingPriority.getOrDefault(entry.getKey(), RequestScheduler.Priority.PREFETCH) == priority) {
+                        batch.put(entry.getKey(), entry.getValue());
+                        pendingPriority.remove(entry.getKey());
+                        it.remove();
+                        if (batchPriority == null) {
+                            batchPriority = priority;
+                        }
+                    }
+                }
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        RequestScheduler.Priority sendPriority = batchPriority;
+
+        try {
+            JsonArray names = new JsonArray();
+            batch.keySet().forEach(names::add);
+            HttpRequest request = HttpRequest.newBuilder()
+                    .uri(URI.create(bulkUrl))
+                    .timeout(Duration.ofSeconds(5))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(names.toString()))
+                    .build();
+            // The response is handled back on this executor; nothing here waits on the request,
+            // so saves and later (possibly higher priority) batches are never held up behind it
+            RequestScheduler.submit(sendPriority, () ->
+                    HTTP_CLIENT.sendAsync(request, HttpResponse.BodyHandlers.ofString()))
+                .whenCompleteAsync((response, error) -> handleResponse(batch, sendPriority, response, error), executor);
+        } catch (Exception e) {
+            CTLTierTagger.LOGGER.warn("Failed to resolve UUIDs: {}", e.getMessage());
+            failAll(batch, e);
+        }
+        synchronized (UuidResolver.class) {
+            if (!pending.isEmpty()) {
+                scheduleFlush(0);
+            }
+        }
+    }
+
+    /**
+     * Apply a bulk lookup response. Rate limited batches go back to the queue behind a backoff.
+     */
+    private static void handleResponse(Map<String, CompletableFuture<UUID>> batch, RequestScheduler.Priority priority,
+                                       HttpResponse<String> response, Throwable error) {
+        try {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                CTLTierTagger.LOGGER.warn("Failed to resolve UUIDs: {}", cause.getMessage());
+                increaseBackoff(0);
+                failAll(batch, cause);
+                return;
+            }
+            if (response.statusCode() == 429) {
+                long retryAfterMs = response.headers().firstValue("Retry-After")
+                        .map(UuidResolver::parseRetryAfter)
+                        .orElse(0L);
+                increaseBackoff(retryAfterMs);
+                CTLTierTagger.LOGGER.warn("Mojang UUID lookup rate limited, retrying {} names in {} ms", batch.size(), backoffMs);
+                requeue(batch, priority);
+                return;
+            }
+            if (response.statusCode() != 200) {
+                CTLTierTagger.LOGGER.warn("Mojang UUID lookup failed: HTTP {}", response.statusCode());
+                increaseBackoff(0);
+                failAll(batch, new IOException("Mojang UUID lookup failed: HTTP " + response.statusCode()));
+                return;
+            }
+
+            synchronized (UuidResolver.class) {
+                backoffMs = 0;
+            }
+            long now = System.currentTimeMillis();
+            Map<String, UUID> found = new HashMap<>();
+            for (JsonElement element : JsonParser.parseString(response.body()).getAsJsonArray()) {
+                JsonObject profile = element.getAsJsonObject();
+                if (profile.has("id") && profile.has("name")) {
+                    found.put(normalize(profile.get("name").getAsString()), parseUndashed(profile.get("id").getAsString()));
+                }
+            }
+            for (Map.Entry<String, CompletableFuture<UUID>> entry : batch.entrySet()) {
+                UUID uuid = found.get(entry.getKey());
+                // Unknown names are cached as null with a short TTL
+                cache.put(entry.getKey(), new CachedUuid(uuid, now));
+                entry.getValue().complete(uuid);
+            }
+            CTLTierTagger.LOGGER.debug("Resolved {} of {} UUIDs in one bulk request", found.size(), batch.size());
+            synchronized (UuidResolver.class) {
+                scheduleSave();
+            }
+        } catch (Exception e) {
+            CTLTierTagger.LOGGER.warn("Failed to resolve UUIDs: {}", e.getMessage());
+            increaseBackoff(0);
+            failAll(batch, e);
+        } finally {
+            synchronized (UuidResolver.class) {
+                if (!pending.isEmpty()) {
+                    scheduleFlush(0);
+                }
+            }
+        }
+    }
+
+    private static void requeue(Map<String, CompletableFuture<UUID>> batch, RequestScheduler.Priority priority) {
+        synchronized (UuidResolver.class) {
+            for (Map.Entry<String, CompletableFuture<UUID>> entry : batch.entrySet()) {
+                pendingPriority.merge(entry.getKey(), priority, (a, b) -> a.compareTo(b) <= 0 ? a : b);
+                CompletableFuture<UUID> existing = pending.putIfAbsent(entry.getKey(), entry.getValue());
+                if (existing != null) {
+                    entry.getValue().whenComplete((uuid, error) -> {
+                        if (error != null) {
+                            existing.completeExceptionally(error);
+                        } else {
+                            existing.complete(uuid);
+                        }
+                    });
+                }
+            }
+        }
+    }
+
+    private static void failAll(Map<String, CompletableFuture<UUID>> batch, Throwable error) {
+        batch.values().forEach(future -> future.completeExceptionally(error));
+    }
+
+    private static synchronized void increaseBackoff(long minimumMs) {
+        long next = backoffMs == 0 ? MIN_BACKOFF_MS : Math.min(backoffMs * 2, MAX_BACKOFF_MS);
+        backoffMs = Math.max(next, minimumMs);
+    }
+
+    private static long parseRetryAfter(String value) {
+        try {
+            return Long.parseLong(value.trim()) * 1000;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static UUID parseUndashed(String id) {
+        return new UUID(Long.parseUnsignedLong(id.substring(0, 16), 16), Long.parseUnsignedLong(id.substring(16, 32), 16));
+    }
+
+    private static String normalize(String playerName) {
+        return playerName.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static void scheduleSave() {
+        if (saveScheduled || cacheFilePath == null) {
+            return;
+        }
+        saveScheduled = true;
+        executor.schedule(UuidResolver::saveToDisk, SAVE_DELAY_MS, TimeUnit.MILLISECONDS);
+    }
+
+    private static void saveToDisk() {
+        synchronized (UuidResolver.class) {
+            saveScheduled = false;
+        }
+        JsonObject json = new JsonObject();
+        for (Map.Entry<String, CachedUuid> entry : cache.entrySet()) {
+            CachedUuid cached = entry.getValue();
+            if (cached.uuid == null || cached.isExpired()) {
+                continue; // Negative results are not persisted
+            }
+            JsonObject obj = new JsonObject();
+            obj.addProperty("uuid", cached.uuid.toString());
+            obj.addProperty("resolvedAt", cached.resolvedAt);
+            json.add(entry.getKey(), obj);
+        }
+        try {
+            Files.createDirectories(cacheFilePath.getParent());
+            Path tmp = cacheFilePath.resolveSibling("uuids.json.tmp");
+            Files.writeString(tmp, GSON.toJson(json));
+            Files.move(tmp, cacheFilePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (Exception e) {
+            CTLTierTagger.LOGGER.error("Failed to save UUID cache: {}", e.getMessage());
+        }
+    }
+
+    private static void loadFromDisk() {
+        try {
+            if (!Files.exists(cacheFilePath)) {
+                return;
+            }
+            JsonObject json = JsonParser.parseString(Files.readString(cacheFilePath)).getAsJsonObject();
+            int expired = 0;
+            for (String name : json.keySet()) {
+                JsonObject obj = json.getAsJsonObject(name);
+                CachedUuid cached = new CachedUuid(
+                    UUID.fromString(obj.get("uuid").getAsString()),
+                    obj.get("resolvedAt").getAsLong()
+                );
+                if (cached.isExpired()) {
+                    expired++;
+                } else {
+                    cache.putIfAbsent(name, cached);
+                }
+            }
+            CTLTierTagger.LOGGER.info("Loaded {} UUIDs from disk cache ({} expired)", cache.size(), expired);
+        } catch (Exception e) {
+            CTLTierTagger.LOGGER.warn("Failed to load UUID cache: {}", e.getMessage());
+        }
+    }
+
+    private static class CachedUuid {
+        final UUID uuid;
+        final long resolvedAt;
+
+        CachedUuid(UUID uuid, long resolvedAt) {
+            this.uuid = uuid;
+            this.resolvedAt = resolvedAt;
+        }
+
+        boolean isExpired() {
+            long ttl = uuid != null ? TTL_MS : NOT_FOUND_TTL_MS;
+            return System.currentTimeMillis() - resolvedAt > ttl;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.ctltierlist.tiertagger.cache;
+
+import com.ctltierlist.tiertagger.api.PlayerDecoder;
+import com.ctltierlist.tiertagger.api.TierListAPI;
+import com.ctltierlist.tiertagger.api.WireFormat;
+import com.ctltierlist.tiertagger.dev.FakeLeaderboard;
+import com.ctltierlist.tiertagger.dev.StandInServer;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Fetches the stand-in leaderboard as JSON and as MessagePack, checks both decode to the
+ * same players, and compares body size and decode time. Lives in the cache package to reuse
+ * the mod's own JSON entry decoder.
+ */
+public final class DecodeBenchmark {
+    private static final int WARMUP_ROUNDS = 10;
+    private static final int MEASURED_ROUNDS = 20;
+
+    public static void main(String[] args) throws Exception {
+        int players = args.length > 0 ? Integer.parseInt(args[0]) : StandInServer.DEFAULT_PLAYERS;
+        try (StandInServer standIn = StandInServer.start(0).serveLeaderboard(new FakeLeaderboard(players))) {
+            HttpClient client = HttpClient.newHttpClient();
+            URI uri = URI.create(standIn.getBaseUrl() + StandInServer.LEADERBOARD_PATH);
+            HttpResponse<byte[]> json = client.send(HttpRequest.newBuilder(uri).header("Accept", "application/json").build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+            HttpResponse<byte[]> binary = client.send(HttpRequest.newBuilder(uri).header("Accept", WireFormat.acceptHeader()).build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+            PlayerDecoder decoder = WireFormat.forResponse(binary);
+            if (decoder == null) {
+                throw new IllegalStateException("Stand-in did not negotiate a binary format");
+            }
+
+            List<TierListAPI.PlayerTierData> fromJson = decodeJson(json.body());
+            List<TierListAPI.PlayerTierData> fromBinary = decoder.decode(ByteBuffer.wrap(binary.body()));
+            compare(fromJson, fromBinary);
+
+            for (int i = 0; i < WARMUP_ROUNDS; i++) {
+                decodeJson(json.body());
+                decoder.decode(ByteBuffer.wrap(binary.body()));
+            }
+            long jsonNanos = 0;
+            long binaryNanos = 0;
+            for (int i = 0; i < MEASURED_ROUNDS; i++) {
+                long start = System.nanoTime();
+                decodeJson(json.body());
+                jsonNanos += System.nanoTime() - start;
+                start = System.nanoTime();
+                decoder.decode(ByteBuffer.wrap(binary.body()));
+                binaryNanos += System.nanoTime() - start;
+            }
+
+            System.out.printf("%d players, identical after decoding%n", fromJson.size());
+            System.out.printf("  %-20s %9d bytes  %7.2f ms/decode%n", "application/json",
+                json.body().length, jsonNanos / 1e6 / MEASURED_ROUNDS);
+            System.out.printf("  %-20s %9d bytes  %7.2f ms/decode%n", decoder.mediaType(),
+                binary.body().length, binaryNanos / 1e6 / MEASURED_ROUNDS);
+        }
+    }
+
+    /**
+     * The mod's JSON path: parse the tree, then decode each entry
+     */
+    private static List<TierListAPI.PlayerTierData> decodeJson(byte[] body) {
+        JsonArray leaderboard = JsonParser.parseString(new String(body, StandardCharsets.UTF_8))
+            .getAsJsonObject().getAsJsonArray("leaderboard");
+        List<TierListAPI.PlayerTierData> players = new ArrayList<>(leaderboard.size());
+        for (int i = 0; i < leaderboard.size(); i++) {
+            players.add(LeaderboardIngest.decode(leaderboard.get(i).getAsJsonObject(), Set.of()));
+        }
+        return players;
+    }
+
+    private static void compare(List<TierListAPI.PlayerTierData> expected, List<TierListAPI.PlayerTierData> actual) throws IOException {
+        if (expected.size() != actual.size()) {
+            throw new IOException("Player count differs: " + expected.size() + " vs " + actual.size());
+        }
+        for (int i = 0; i < expected.size(); i++) {
+            TierListAPI.PlayerTierData a = expected.get(i);
+            TierListAPI.PlayerTierData b = actual.get(i);
+            boolean same = a.playerName.equals(b.playerName)
+                && a.region.equals(b.region)
+                && a.title.equals(b.title)
+                && a.totalPoints == b.totalPoints
+                && a.overallRank == b.overallRank
+                && a.getAllTiers().size() == b.getAllTiers().size();
+            for (Map.Entry<String, TierListAPI.TierInfo> entry : a.getAllTiers().entrySet()) {
+                TierListAPI.TierInfo other = b.getAllTiers().get(entry.getKey());
+                same &= other != null && Objects.equals(other.tier, entry.getValue().tier)
+                    && other.retired == entry.getValue().retired;
+            }
+            if (!same) {
+                throw new IOException("Player " + i + " (" + a.playerName + ") decodes differently");
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.ctltierlist.tiertagger.dev;
+
+import com.ctltierlist.tiertagger.api.CircuitBreaker;
+import com.ctltierlist.tiertagger.api.EndpointPool;
+import com.ctltierlist.tiertagger.api.ResilientHttp;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs four stand-ins as API mirrors (fast, slow and two that always fail) and checks the
+ * order {@link EndpointPool#candidates} tries them in: closed hosts by latency, then
+ * half-open, then open, even when an open host would win on latency or list position.
+ * Takes about 20 s, as a breaker has to sit out its cool-down to go half-open.
+ */
+public final class FailoverCheck {
+    private static final String ROUTE = "failover-check";
+    private static final long COOL_DOWN_MS = 15_000;
+
+    public static void main(String[] args) throws Exception {
+        FakeLeaderboard leaderboard = new FakeLeaderboard(100);
+        try (StandInServer fast = StandInServer.start(0).serveLeaderboard(leaderboard).setLatency(10);
+             StandInServer slow = StandInServer.start(0).serveLeaderboard(leaderboard).setLatency(150);
+             StandInServer flaky = StandInServer.start(0).serveLeaderboard(leaderboard).setErrorRate(1);
+             StandInServer down = StandInServer.start(0).serveLeaderboard(leaderboard).setErrorRate(1)) {
+            HttpClient client = HttpClient.newHttpClient();
+
+            // Open "flaky" first so its cool-down ends while "down" is still open
+            EndpointPool.setEndpoints(List.of(flaky.getBaseUrl()));
+            sendUntilOpen(client, flaky);
+            long flakyOpenedAt = System.currentTimeMillis();
+            Thread.sleep(COOL_DOWN_MS / 3);
+            EndpointPool.setEndpoints(List.of(down.getBaseUrl()));
+            sendUntilOpen(client, down);
+            Thread.sleep(Math.max(0, flakyOpenedAt + COOL_DOWN_MS + 100 - System.currentTimeMillis()));
+
+            // "down" is listed first and ties with "flaky" on latency, so only the state rank separates them
+            EndpointPool.setEndpoints(List.of(down.getBaseUrl(), flaky.getBaseUrl(), fast.getBaseUrl(), slow.getBaseUrl()));
+            EndpointPool.Endpoint flakyEndpoint = EndpointPool.all().get(1);
+            if (!flakyEndpoint.breaker(ROUTE).tryAcquire()) {
+                throw new IllegalStateException("flaky did not go half-open after its cool-down");
+            }
+            for (int i = 0; i < 20; i++) {
+                send(client);
+            }
+
+            List<EndpointPool.Endpoint> order = EndpointPool.candidates(ROUTE);
+            System.out.println("Try order for " + ROUTE + ":");
+            for (EndpointPool.Endpoint endpoint : order) {
+                System.out.printf("  %-7s %-9s EWMA %7.1f ms%n", nameOf(endpoint, fast, slow, flaky, down),
+                    endpoint.breaker(ROUTE).getState(), endpoint.getLatencyMs());
+            }
+            List<String> expected = List.of(fast.getBaseUrl(), slow.getBaseUrl(), flaky.getBaseUrl(), down.getBaseUrl());
+            if (!order.stream().map(EndpointPool.Endpoint::getBaseUrl).toList().equals(expected)) {
+                throw new IllegalStateException("Expected fast, slow, flaky (half-open), down (open)");
+            }
+            System.out.println("Order is closed by latency, then half-open, then open");
+            flakyEndpoint.breaker(ROUTE).release();
+        }
+    }
+
+    private static void sendUntilOpen(HttpClient client, StandInServer target) throws Exception {
+        EndpointPool.Endpoint endpoint = EndpointPool.all().get(0);
+        for (int i = 0; i < 20 && endpoint.breaker(ROUTE).getState() != CircuitBreaker.State.OPEN; i++) {
+            send(client);
+        }
+        if (endpoint.breaker(ROUTE).getState() != CircuitBreaker.State.OPEN) {
+            throw new IllegalStateException("Breaker for " + target.getBaseUrl() + " did not open");
+        }
+    }
+
+    private static void send(HttpClient client) throws Exception {
+        try {
+            ResilientHttp.send(client, ROUTE,
+                    base -> HttpRequest.newBuilder(URI.create(base + StandInServer.PROFILE_PATH + "Player1")).build(),
+                    HttpResponse.BodyHandlers.discarding(), false)
+                .get(10, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            // Expected while only failing hosts are listed
+        }
+    }
+
+    private static String nameOf(EndpointPool.Endpoint endpoint, StandInServer fast, StandInServer slow,
+                                 StandInServer flaky, StandInServer down) {
+        String url = endpoint.getBaseUrl();
+        return url.equals(fast.getBaseUrl()) ? "fast" : url.equals(slow.getBaseUrl()) ? "slow"
+            : url.equals(flaky.getBaseUrl()) ? "flaky" : "down";
+    }
+}
@@ -0,0 +1,130 @@
+package com.ctltierlist.tiertagger.dev;
+
+import com.ctltierlist.tiertagger.api.Tier;
+import com.ctltierlist.tiertagger.api.TierListAPI;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Made-up leaderboard in rank order, served by the stand-in in both the API's JSON shape
+ * and columnar MessagePack. Deterministic for a given size.
+ */
+public final class FakeLeaderboard {
+    private static final String[] REGIONS = {"EU", "NA", "AS", "SA", "AU", "ME"};
+    private static final String[] TITLES = {"Combat Grandmaster", "Combat Master", "Combat Ace", "Combat Specialist", "Rookie"};
+    private static final String[] GAMEMODES = {"sword", "crystal", "netherite", "pot", "mace", "uhc", "axe", "smp"};
+
+    private final List<TierListAPI.PlayerTierData> players;
+    private final Map<String, TierListAPI.PlayerTierData> byName = new HashMap<>();
+    private final byte[] json;
+    private final byte[] msgpack;
+
+    public FakeLeaderboard(int size) {
+        Random random = new Random(size);
+        List<TierListAPI.PlayerTierData> generated = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String name = "Player" + i;
+            TierListAPI.PlayerTierData player = new TierListAPI.PlayerTierData(
+                name,
+                REGIONS[random.nextInt(REGIONS.length)],
+                StandInServer.uuidFor(name).toString(),
+                "",
+                Math.max(0, 400 - i / 50),
+                TITLES[Math.min(TITLES.length - 1, i / Math.max(1, size / TITLES.length))],
+                i + 1
+            );
+            int tiers = 1 + random.nextInt(GAMEMODES.length);
+            for (int t = 0; t < tiers; t++) {
+                String gamemode = GAMEMODES[(i + t) % GAMEMODES.length];
+                // Better players get better tiers
+                int index = Math.min(Tier.COUNT - 1, i * Tier.COUNT / Math.max(1, size) + random.nextInt(2));
+                player.setTierForGamemode(displayName(gamemode), Tier.byIndex(index, random.nextInt(20) == 0));
+            }
+            generated.add(player);
+            byName.put(name.toLowerCase(Locale.ROOT), player);
+        }
+        this.players = Collections.unmodifiableList(generated);
+
+        JsonArray leaderboard = new JsonArray();
+        for (TierListAPI.PlayerTierData player : players) {
+            leaderboard.add(toJson(player, false));
+        }
+        JsonObject root = new JsonObject();
+        root.add("leaderboard", leaderboard);
+        this.json = root.toString().getBytes(StandardCharsets.UTF_8);
+        this.msgpack = MessagePackPlayerEncoder.encode(players);
+    }
+
+    public List<TierListAPI.PlayerTierData> getPlayers() {
+        return players;
+    }
+
+    public TierListAPI.PlayerTierData find(String name) {
+        return byName.get(name.toLowerCase(Locale.ROOT));
+    }
+
+    public byte[] json() {
+        return json;
+    }
+
+    public byte[] msgpack() {
+        return msgpack;
+    }
+
+    /**
+     * One player as /api/search_profile answers: profile fields nested, tiers alongside
+     */
+    public static byte[] profileJson(TierListAPI.PlayerTierData player) {
+        return toJson(player, true).toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    public static byte[] profileMsgpack(TierListAPI.PlayerTierData player) {
+        return MessagePackPlayerEncoder.encode(List.of(player));
+    }
+
+    private static JsonObject toJson(TierListAPI.PlayerTierData player, boolean profileShape) {
+        JsonObject ranks = new JsonObject();
+        for (Map.Entry<String, TierListAPI.TierInfo> entry : player.getAllTiers().entrySet()) {
+            JsonObject rank = new JsonObject();
+            rank.addProperty("rank", entry.getValue().tier.active().label());
+            rank.addProperty("retired", entry.getValue().retired);
+            ranks.add(entry.getKey().toLowerCase(Locale.ROOT), rank);
+        }
+
+        JsonObject json = new JsonObject();
+        JsonObject profile = profileShape ? new JsonObject() : json;
+        profile.addProperty("ingameName", player.playerName);
+        profile.addProperty("region", player.region);
+        profile.addProperty("uuid", player.uuid);
+        if (profileShape) {
+            json.add("profile", profile);
+        }
+        json.addProperty("totalPoints", player.totalPoints);
+        json.addProperty("title", player.title);
+        json.addProperty("rank", player.overallRank);
+        json.add("ranks", ranks);
+        return json;
+    }
+
+    private static String displayName(String gamemode) {
+        return switch (gamemode) {
+            case "sword" -> "Sword";
+            case "crystal" -> "Crystal";
+            case "netherite" -> "Netherite";
+            case "pot" -> "Potion";
+            case "mace" -> "Mace";
+            case "uhc" -> "UHC";
+            case "axe" -> "Axe";
+            default -> "SMP";
+        };
+    }
+}
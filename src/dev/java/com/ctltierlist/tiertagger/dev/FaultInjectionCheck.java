@@ -0,0 +1,270 @@
+package com.ctltierlist.tiertagger.dev;
+
+import com.ctltierlist.tiertagger.api.CircuitBreaker;
+import com.ctltierlist.tiertagger.api.EndpointPool;
+import com.ctltierlist.tiertagger.api.ResilientHttp;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLParameters;
+import java.io.IOException;
+import java.net.Authenticator;
+import java.net.CookieHandler;
+import java.net.ProxySelector;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drives {@link ResilientHttp} against stand-ins with injected faults and checks three behaviours:
+ * a breaker opening under 5xx answers, failing fast, then recovering through a half-open probe;
+ * the retry budget running dry under a steady trickle of failures; and a hedged duplicate winning
+ * over a stalled call, which is then cancelled. Takes about 25 s because of the breaker cool-down.
+ */
+public final class FaultInjectionCheck {
+    private static final String PATH = "/check";
+    private static final long COOL_DOWN_MS = 15_000;
+
+    public static void main(String[] args) throws Exception {
+        CountingClient client = new CountingClient(HttpClient.newHttpClient());
+        checkRetryBudget(client);
+        checkHedgeCancellation(client);
+        checkBreaker(client);
+    }
+
+    /**
+     * Every third request fails: too few for the breaker, enough to outspend the budget
+     */
+    private static void checkRetryBudget(CountingClient client) throws Exception {
+        String route = "budget-check";
+        try (StandInServer standIn = StandInServer.start(0)) {
+            AtomicInteger served = new AtomicInteger();
+            standIn.serve(PATH, exchange -> respond(exchange, served.incrementAndGet() % 3 == 0 ? 503 : 200));
+            EndpointPool.setEndpoints(List.of(standIn.getBaseUrl()));
+            CircuitBreaker breaker = EndpointPool.all().get(0).breaker(route);
+
+            int calls = 60;
+            int failedCalls = 0;
+            int firstExhaustedAt = -1;
+            for (int i = 1; i <= calls; i++) {
+                int status = send(client, route, false).statusCode();
+                if (status != 200) {
+                    failedCalls++;
+                    if (firstExhaustedAt < 0) {
+                        firstExhaustedAt = i;
+                    }
+                }
+            }
+            int retries = standIn.getRequestCount() - calls;
+            System.out.printf("Retry budget: %d calls, %d retries, %d calls returned 503 once the budget was empty"
+                    + " (first at call %d), breaker %s at %.0f%% failures%n",
+                calls, retries, failedCalls, firstExhaustedAt, breaker.getState(), breaker.getFailureRate() * 100);
+            // Three tokens to start with plus a fifth of a token per call
+            if (failedCalls == 0 || retries > 3 + calls / 5 || breaker.getState() != CircuitBreaker.State.CLOSED) {
+                throw new IllegalStateException("Retry budget did not cap retries");
+            }
+        }
+    }
+
+    /**
+     * The fast host stalls after warming up; the hedge to the second host must win and the stalled call be cancelled
+     */
+    private static void checkHedgeCancellation(CountingClient client) throws Exception {
+        String route = "hedge-check";
+        try (StandInServer primary = StandInServer.start(0); StandInServer mirror = StandInServer.start(0)) {
+            AtomicInteger served = new AtomicInteger();
+            primary.serve(PATH, exchange -> {
+                sleep(served.incrementAndGet() <= 10 ? 20 : 2000);
+                respond(exchange, 200);
+            });
+            mirror.serve(PATH, exchange -> {
+                sleep(100);
+                respond(exchange, 200);
+            });
+            EndpointPool.setEndpoints(List.of(primary.getBaseUrl(), mirror.getBaseUrl()));
+            CircuitBreaker primaryBreaker = EndpointPool.all().get(0).breaker(route);
+
+            // Give both hosts a latency so the fast one is tried first and its p90 is known
+            while (served.get() < 10) {
+                send(client, route, true);
+            }
+            int cancelledBefore = client.cancelled.get();
+            int stalls = 5;
+            long start = System.nanoTime();
+            for (int i = 0; i < stalls; i++) {
+                send(client, route, true);
+            }
+            long averageMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) / stalls;
+            // Cancellation completes the attempt's future asynchronously
+            Thread.sleep(200);
+            int cancelled = client.cancelled.get() - cancelledBefore;
+            System.out.printf("Hedging: %d stalled calls answered in %d ms on average (host stalls for 2000 ms),"
+                    + " %d stalled attempts cancelled, hedge delay p90 %d ms, primary breaker %s%n",
+                stalls, averageMs, cancelled, primaryBreaker.latencyPercentile(90), primaryBreaker.getState());
+            if (averageMs >= 1000 || cancelled != stalls || primaryBreaker.getFailureRate() > 0) {
+                throw new IllegalStateException("Hedges did not win or stalled attempts were not cancelled");
+            }
+        }
+    }
+
+    /**
+     * Every answer is a 503 until the breaker opens; after the cool-down the host is healthy again
+     */
+    private static void checkBreaker(CountingClient client) throws Exception {
+        String route = "breaker-check";
+        try (StandInServer standIn = StandInServer.start(0).setErrorRate(1)) {
+            standIn.serve(PATH, exchange -> respond(exchange, 200));
+            EndpointPool.setEndpoints(List.of(standIn.getBaseUrl()));
+            CircuitBreaker breaker = EndpointPool.all().get(0).breaker(route);
+
+            int calls = 0;
+            while (breaker.getState() == CircuitBreaker.State.CLOSED && calls < 20) {
+                send(client, route, false);
+                calls++;
+            }
+            System.out.printf("Breaker: %s after %d calls (%d requests) at %.0f%% failures%n",
+                breaker.getState(), calls, standIn.getRequestCount(), breaker.getFailureRate() * 100);
+
+            int requests = standIn.getRequestCount();
+            long start = System.nanoTime();
+            boolean failedFast = false;
+            try {
+                sendRaw(client, route, false).get(5, TimeUnit.SECONDS);
+            } catch (ExecutionException e) {
+                failedFast = e.getCause() instanceof CircuitBreaker.OpenException;
+            }
+            long fastFailMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            System.out.printf("Breaker: call while open failed fast in %d ms without reaching the host: %b%n",
+                fastFailMs, failedFast && standIn.getRequestCount() == requests);
+            if (!failedFast || standIn.getRequestCount() != requests) {
+                throw new IllegalStateException("Open breaker let a call through");
+            }
+
+            standIn.setErrorRate(0);
+            Thread.sleep(COOL_DOWN_MS + 100);
+            int status = send(client, route, false).statusCode();
+            System.out.printf("Breaker: probe after %d s cool-down answered %d, breaker %s%n",
+                COOL_DOWN_MS / 1000, status, breaker.getState());
+            if (status != 200 || breaker.getState() != CircuitBreaker.State.CLOSED) {
+                throw new IllegalStateException("Breaker did not recover");
+            }
+        }
+    }
+
+    private static HttpResponse<Void> send(HttpClient client, String route, boolean hedged) throws Exception {
+        return sendRaw(client, route, hedged).get(10, TimeUnit.SECONDS);
+    }
+
+    private static CompletableFuture<HttpResponse<Void>> sendRaw(HttpClient client, String route, boolean hedged) {
+        return ResilientHttp.send(client, route,
+            base -> HttpRequest.newBuilder(URI.create(base + PATH)).build(),
+            HttpResponse.BodyHandlers.discarding(), hedged);
+    }
+
+    private static void respond(com.sun.net.httpserver.HttpExchange exchange, int status) throws IOException {
+        StandInServer.respond(exchange, status, "text/plain", "ok".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Delegating client that counts attempts ResilientHttp cancels
+     */
+    private static final class CountingClient extends HttpClient {
+        private final HttpClient delegate;
+        final AtomicInteger cancelled = new AtomicInteger();
+
+        CountingClient(HttpClient delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest request, HttpResponse.BodyHandler<T> handler) {
+            return count(delegate.sendAsync(request, handler));
+        }
+
+        @Override
+        public <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest request, HttpResponse.BodyHandler<T> handler,
+                                                                HttpResponse.PushPromiseHandler<T> pushPromiseHandler) {
+            return count(delegate.sendAsync(request, handler, pushPromiseHandler));
+        }
+
+        private <T> CompletableFuture<T> count(CompletableFuture<T> call) {
+            call.whenComplete((result, error) -> {
+                if (error instanceof CancellationException || error instanceof CompletionException
+                    && error.getCause() instanceof CancellationException) {
+                    cancelled.incrementAndGet();
+                }
+            });
+            return call;
+        }
+
+        @Override
+        public <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> handler)
+            throws IOException, InterruptedException {
+            return delegate.send(request, handler);
+        }
+
+        @Override
+        public Optional<CookieHandler> cookieHandler() {
+            return delegate.cookieHandler();
+        }
+
+        @Override
+        public Optional<Duration> connectTimeout() {
+            return delegate.connectTimeout();
+        }
+
+        @Override
+        public Redirect followRedirects() {
+            return delegate.followRedirects();
+        }
+
+        @Override
+        public Optional<ProxySelector> proxy() {
+            return delegate.proxy();
+        }
+
+        @Override
+        public SSLContext sslContext() {
+            return delegate.sslContext();
+        }
+
+        @Override
+        public SSLParameters sslParameters() {
+            return delegate.sslParameters();
+        }
+
+        @Override
+        public Optional<Authenticator> authenticator() {
+            return delegate.authenticator();
+        }
+
+        @Override
+        public Version version() {
+            return delegate.version();
+        }
+
+        @Override
+        public Optional<Executor> executor() {
+            return delegate.executor();
+        }
+    }
+}
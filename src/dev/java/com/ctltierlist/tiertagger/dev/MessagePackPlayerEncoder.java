@@ -0,0 +1,184 @@
+package com.ctltierlist.tiertagger.dev;
+
+import com.ctltierlist.tiertagger.api.TierListAPI;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reference encoder for the columnar MessagePack player list read by the mod's
+ * MessagePackPlayerDecoder (see its doc comment for the layout). A server can produce the
+ * same document with any MessagePack library; this one exists for the stand-in and benchmarks.
+ */
+public final class MessagePackPlayerEncoder {
+    public static final String MEDIA_TYPE = "application/msgpack";
+    private static final int VERSION = 1;
+    private static final int RETIRED_FLAG = 0x80;
+
+    private MessagePackPlayerEncoder() {
+    }
+
+    public static byte[] encode(List<TierListAPI.PlayerTierData> players) {
+        Table regions = new Table();
+        Table titles = new Table();
+        Table gamemodes = new Table();
+        int count = players.size();
+        int[] regionCodes = new int[count];
+        int[] titleCodes = new int[count];
+        int[][] tiers = new int[count][];
+        for (int i = 0; i < count; i++) {
+            TierListAPI.PlayerTierData player = players.get(i);
+            regionCodes[i] = regions.code(player.region);
+            titleCodes[i] = titles.code(player.title);
+            Map<String, TierListAPI.TierInfo> all = player.getAllTiers();
+            tiers[i] = new int[all.size() * 2];
+            int t = 0;
+            for (Map.Entry<String, TierListAPI.TierInfo> entry : all.entrySet()) {
+                TierListAPI.TierInfo info = entry.getValue();
+                // Raw API keys, like the JSON format
+                tiers[i][t++] = gamemodes.code(entry.getKey().toLowerCase(Locale.ROOT));
+                tiers[i][t++] = info.tier.index() | (info.retired ? RETIRED_FLAG : 0);
+            }
+        }
+
+        Writer out = new Writer();
+        out.mapHeader(11);
+        out.string("version").integer(VERSION);
+        out.string("regions").strings(regions.values);
+        out.string("titles").strings(titles.values);
+        out.string("gamemodes").strings(gamemodes.values);
+        out.string("names").arrayHeader(count);
+        for (TierListAPI.PlayerTierData player : players) {
+            out.string(player.playerName);
+        }
+        out.string("uuids").arrayHeader(count);
+        for (TierListAPI.PlayerTierData player : players) {
+            out.string(player.uuid);
+        }
+        out.string("region").integers(regionCodes);
+        out.string("title").integers(titleCodes);
+        out.string("points").arrayHeader(count);
+        for (TierListAPI.PlayerTierData player : players) {
+            out.integer(player.totalPoints);
+        }
+        out.string("rank").arrayHeader(count);
+        for (TierListAPI.PlayerTierData player : players) {
+            out.integer(player.overallRank);
+        }
+        out.string("tiers").arrayHeader(count);
+        for (int[] playerTiers : tiers) {
+            out.integers(playerTiers);
+        }
+        return out.toByteArray();
+    }
+
+    private static final class Table {
+        final List<String> values = new ArrayList<>();
+        final Map<String, Integer> codes = new HashMap<>();
+
+        int code(String value) {
+            return codes.computeIfAbsent(value, v -> {
+                values.add(v);
+                return values.size() - 1;
+            });
+        }
+    }
+
+    /**
+     * The few MessagePack writes the format needs, always in the smallest encoding
+     */
+    private static final class Writer {
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream(1 << 16);
+
+        Writer mapHeader(int size) {
+            return header(size, 0x80, 0xDE, 0xDF);
+        }
+
+        Writer arrayHeader(int size) {
+            return header(size, 0x90, 0xDC, 0xDD);
+        }
+
+        private Writer header(int size, int fix, int marker16, int marker32) {
+            if (size < 16) {
+                out.write(fix | size);
+            } else if (size <= 0xFFFF) {
+                out.write(marker16);
+                writeShort(size);
+            } else {
+                out.write(marker32);
+                writeInt(size);
+            }
+            return this;
+        }
+
+        Writer string(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length < 32) {
+                out.write(0xA0 | bytes.length);
+            } else if (bytes.length <= 0xFF) {
+                out.write(0xD9);
+                out.write(bytes.length);
+            } else if (bytes.length <= 0xFFFF) {
+                out.write(0xDA);
+                writeShort(bytes.length);
+            } else {
+                out.write(0xDB);
+                writeInt(bytes.length);
+            }
+            out.writeBytes(bytes);
+            return this;
+        }
+
+        Writer integer(int value) {
+            if (value >= 0 && value <= 0x7F || value >= -32 && value < 0) {
+                out.write(value & 0xFF);
+            } else if (value >= 0 && value <= 0xFF) {
+                out.write(0xCC);
+                out.write(value);
+            } else if (value >= 0 && value <= 0xFFFF) {
+                out.write(0xCD);
+                writeShort(value);
+            } else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+                out.write(0xD1);
+                writeShort(value);
+            } else {
+                out.write(0xD2);
+                writeInt(value);
+            }
+            return this;
+        }
+
+        Writer strings(List<String> values) {
+            arrayHeader(values.size());
+            values.forEach(this::string);
+            return this;
+        }
+
+        Writer integers(int[] values) {
+            arrayHeader(values.length);
+            for (int value : values) {
+                integer(value);
+            }
+            return this;
+        }
+
+        private void writeShort(int value) {
+            out.write(value >>> 8);
+            out.write(value);
+        }
+
+        private void writeInt(int value) {
+            writeShort(value >>> 16);
+            writeShort(value & 0xFFFF);
+        }
+
+        byte[] toByteArray() {
+            return out.toByteArray();
+        }
+    }
+}
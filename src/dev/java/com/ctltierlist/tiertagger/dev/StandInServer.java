@@ -0,0 +1,262 @@
+package com.ctltierlist.tiertagger.dev;
+
+import com.ctltierlist.tiertagger.api.TierListAPI;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local stand-in for the services the mod talks to, for manual checks and benchmarks.
+ * Faults (added latency, 5xx and 429 answers) can be injected per server to exercise the
+ * client's backoff and failure handling. Not part of the mod.
+ *
+ * Run with {@code ./gradlew runStandIn} and point the client at it with the apiEndpoints
+ * setting ({@code http://localhost:8787}) and
+ * {@code -Dctltiertagger.mojangBulkUrl=http://localhost:8787/profile/lookup/bulk/byname}.
+ */
+public final class StandInServer implements AutoCloseable {
+    public static final int DEFAULT_PORT = 8787;
+    public static final String BULK_PATH = "/profile/lookup/bulk/byname";
+    public static final String LEADERBOARD_PATH = "/rankings/overall";
+    public static final String PROFILE_PATH = "/api/search_profile/";
+    public static final int DEFAULT_PLAYERS = 20000;
+    // Names starting with this are unknown to the Mojang stand-in
+    public static final String UNKNOWN_PREFIX = "ghost";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger rateLimitBudget = new AtomicInteger();
+    private final AtomicInteger rateLimited = new AtomicInteger();
+    private volatile long latencyMs;
+    private volatile double errorRate;
+    private volatile double rateLimitRate;
+    private volatile boolean binaryEnabled = true;
+
+    private StandInServer(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        executor = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "StandIn-" + port);
+            t.setDaemon(true);
+            return t;
+        });
+        server.setExecutor(executor);
+        serve(BULK_PATH, StandInServer::bulkLookup);
+    }
+
+    /**
+     * Start a stand-in
+     * @param port Port to listen on, 0 for any free port
+     */
+    public static StandInServer start(int port) throws IOException {
+        StandInServer standIn = new StandInServer(port);
+        standIn.server.start();
+        return standIn;
+    }
+
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Delay every answer by this long
+     */
+    public StandInServer setLatency(long latencyMs) {
+        this.latencyMs = latencyMs;
+        return this;
+    }
+
+    /**
+     * Answer this fraction of requests with HTTP 503
+     */
+    public StandInServer setErrorRate(double errorRate) {
+        this.errorRate = errorRate;
+        return this;
+    }
+
+    /**
+     * Answer this fraction of requests with HTTP 429 and Retry-After: 1
+     */
+    public StandInServer setRateLimitRate(double rateLimitRate) {
+        this.rateLimitRate = rateLimitRate;
+        return this;
+    }
+
+    /**
+     * Answer the next {@code count} requests with HTTP 429 and Retry-After: 1, before any random fault
+     */
+    public StandInServer rateLimitNext(int count) {
+        rateLimitBudget.set(count);
+        return this;
+    }
+
+    /**
+     * Whether MessagePack is offered when the client accepts it; off behaves like a JSON-only server
+     */
+    public StandInServer setBinaryEnabled(boolean binaryEnabled) {
+        this.binaryEnabled = binaryEnabled;
+        return this;
+    }
+
+    /**
+     * Serve a leaderboard and its players' profiles, negotiating JSON or MessagePack from Accept
+     */
+    public StandInServer serveLeaderboard(FakeLeaderboard leaderboard) {
+        serve(LEADERBOARD_PATH, exchange -> {
+            if (wantsMessagePack(exchange)) {
+                respond(exchange, 200, MessagePackPlayerEncoder.MEDIA_TYPE, leaderboard.msgpack());
+            } else {
+                respond(exchange, 200, "application/json", leaderboard.json());
+            }
+        });
+        serve(PROFILE_PATH, exchange -> {
+            String name = exchange.getRequestURI().getPath().substring(PROFILE_PATH.length());
+            TierListAPI.PlayerTierData player = leaderboard.find(name);
+            if (player == null) {
+                respond(exchange, 404, "application/json", "{\"error\":\"Player not found\"}".getBytes(StandardCharsets.UTF_8));
+            } else if (wantsMessagePack(exchange)) {
+                respond(exchange, 200, MessagePackPlayerEncoder.MEDIA_TYPE, FakeLeaderboard.profileMsgpack(player));
+            } else {
+                respond(exchange, 200, "application/json", FakeLeaderboard.profileJson(player));
+            }
+        });
+        return this;
+    }
+
+    private boolean wantsMessagePack(HttpExchange exchange) {
+        String accept = exchange.getRequestHeaders().getFirst("Accept");
+        return binaryEnabled && accept != null && accept.contains(MessagePackPlayerEncoder.MEDIA_TYPE);
+    }
+
+    /**
+     * Requests received, including those answered with an injected fault
+     */
+    public int getRequestCount() {
+        return requests.get();
+    }
+
+    /**
+     * Requests answered with an injected 429
+     */
+    public int getRateLimitedCount() {
+        return rateLimited.get();
+    }
+
+    /**
+     * Add a route; faults are applied before the handler runs
+     */
+    public void serve(String path, HttpHandler handler) {
+        server.createContext(path, exchange -> {
+            requests.incrementAndGet();
+            try {
+                if (latencyMs > 0) {
+                    Thread.sleep(latencyMs);
+                }
+                double roll = ThreadLocalRandom.current().nextDouble();
+                if (rateLimitBudget.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+                    rateLimit(exchange);
+                } else if (roll < errorRate) {
+                    respond(exchange, 503, "text/plain", "injected failure".getBytes(StandardCharsets.UTF_8));
+                } else if (roll < errorRate + rateLimitRate) {
+                    rateLimit(exchange);
+                } else {
+                    handler.handle(exchange);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                exchange.close();
+            }
+        });
+    }
+
+    private void rateLimit(HttpExchange exchange) throws IOException {
+        rateLimited.incrementAndGet();
+        exchange.getResponseHeaders().set("Retry-After", "1");
+        respond(exchange, 429, "text/plain", "injected rate limit".getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static void respond(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        if (body.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    /**
+     * Mojang's bulk lookup: a JSON array of at most ten names in, the known profiles out
+     */
+    private static void bulkLookup(HttpExchange exchange) throws IOException {
+        if (!exchange.getRequestMethod().equals("POST")) {
+            respond(exchange, 405, "text/plain", new byte[0]);
+            return;
+        }
+        JsonArray names;
+        try (InputStreamReader reader = new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8)) {
+            names = JsonParser.parseReader(reader).getAsJsonArray();
+        } catch (RuntimeException e) {
+            respond(exchange, 400, "text/plain", "expected a JSON array of names".getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        if (names.size() > 10) {
+            respond(exchange, 400, "text/plain", "at most 10 names per request".getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+
+        JsonArray profiles = new JsonArray();
+        for (JsonElement element : names) {
+            String name = element.getAsString();
+            if (name.toLowerCase(Locale.ROOT).startsWith(UNKNOWN_PREFIX)) {
+                continue;
+            }
+            JsonObject profile = new JsonObject();
+            profile.addProperty("id", uuidFor(name).toString().replace("-", ""));
+            profile.addProperty("name", name);
+            profiles.add(profile);
+        }
+        respond(exchange, 200, "application/json", profiles.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Stable made-up UUID for a name
+     */
+    public static UUID uuidFor(String name) {
+        return UUID.nameUUIDFromBytes(("StandIn:" + name.toLowerCase(Locale.ROOT)).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    public static void main(String[] args) throws Exception {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        int players = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_PLAYERS;
+        StandInServer standIn = start(port).serveLeaderboard(new FakeLeaderboard(players));
+        System.out.println("Stand-in listening on " + standIn.getBaseUrl() + " with " + players + " players");
+        System.out.println("  Leaderboard (JSON or MessagePack): " + standIn.getBaseUrl() + LEADERBOARD_PATH);
+        System.out.println("  Profiles: " + standIn.getBaseUrl() + PROFILE_PATH + "Player0");
+        System.out.println("  Mojang bulk lookup: " + standIn.getBaseUrl() + BULK_PATH);
+        Thread.currentThread().join();
+    }
+}
@@ -0,0 +1,69 @@
+package com.ctltierlist.tiertagger.dev;
+
+import com.ctltierlist.tiertagger.client.util.UuidResolver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolves a burst of names through {@link UuidResolver} against a stand-in that rate limits
+ * its first bulk request, and checks that the rate limited batch is requeued behind the
+ * backoff and every name still comes back, in batches of at most ten.
+ */
+public final class UuidResolverCheck {
+    private static final int NAMES = 45;
+    private static final int UNKNOWN = 5;
+
+    public static void main(String[] args) throws Exception {
+        try (StandInServer standIn = StandInServer.start(0).rateLimitNext(1)) {
+            UuidResolver.setBulkEndpoint(standIn.getBaseUrl() + StandInServer.BULK_PATH);
+
+            List<String> names = new ArrayList<>();
+            for (int i = 0; i < NAMES; i++) {
+                names.add((i < UNKNOWN ? StandInServer.UNKNOWN_PREFIX : "Player") + i);
+            }
+
+            long start = System.nanoTime();
+            Map<String, UUID> resolved = UuidResolver.resolveAll(names).get(2, TimeUnit.MINUTES);
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            int found = 0;
+            for (String name : names) {
+                UUID uuid = resolved.get(name);
+                boolean unknown = name.startsWith(StandInServer.UNKNOWN_PREFIX);
+                if (unknown ? uuid != null : !Objects.equals(uuid, StandInServer.uuidFor(name))) {
+                    throw new IllegalStateException("Wrong UUID for " + name + ": " + uuid);
+                }
+                if (uuid != null) {
+                    found++;
+                }
+            }
+            int batches = (NAMES + 9) / 10;
+            int requests = standIn.getRequestCount();
+            System.out.printf("Resolved %d/%d names (%d unknown) in %d ms: %d bulk requests for %d batches, %d rate limited%n",
+                found, NAMES, UNKNOWN, elapsedMs, requests, batches, standIn.getRateLimitedCount());
+            if (found != NAMES - UNKNOWN) {
+                throw new IllegalStateException("Only " + found + " of " + (NAMES - UNKNOWN) + " known names resolved");
+            }
+            if (standIn.getRateLimitedCount() != 1 || requests != batches + 1) {
+                throw new IllegalStateException("Expected the rate limited batch to be sent exactly once more");
+            }
+            // Retry-After: 1 means the requeued batch waits at least a second
+            if (elapsedMs < 1000) {
+                throw new IllegalStateException("Rate limited batch was retried without backing off");
+            }
+
+            // Cached now: a second pass must not touch the network
+            int before = standIn.getRequestCount();
+            UuidResolver.resolveAll(names).get(5, TimeUnit.SECONDS);
+            if (standIn.getRequestCount() != before) {
+                throw new IllegalStateException("Cached names were looked up again");
+            }
+            System.out.println("Second pass served from cache");
+        }
+    }
+}
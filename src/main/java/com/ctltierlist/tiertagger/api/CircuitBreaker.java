@@ -0,0 +1,178 @@
+package com.ctltierlist.tiertagger.api;
+
+import com.ctltierlist.tiertagger.CTLTierTagger;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Per-endpoint circuit breaker.
+ * Keeps the outcome and latency of the last WINDOW calls; errors, server failures and
+ * calls slower than SLOW_CALL_MS all count as failures. When at least half of the window
+ * failed the breaker opens and calls fail fast instead of waiting for a timeout. After a
+ * cool-down one probe is let through: success closes the breaker, failure reopens it with
+ * a doubled cool-down.
+ */
+public final class CircuitBreaker {
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private static final int WINDOW = 20;
+    private static final int MIN_CALLS = 5;
+    private static final double FAILURE_THRESHOLD = 0.5;
+    private static final long SLOW_CALL_MS = 4000;
+    private static final long BASE_OPEN_MS = 15_000;
+    private static final long MAX_OPEN_MS = 5 * 60_000;
+
+    private static final Map<String, CircuitBreaker> BREAKERS = new ConcurrentSkipListMap<>();
+
+    private final String name;
+    private final RetryBudget retryBudget = new RetryBudget();
+    private final boolean[] failed = new boolean[WINDOW];
+    private final long[] latencies = new long[WINDOW];
+    private int next;
+    private int recorded;
+    private State state = State.CLOSED;
+    private long openedAt;
+    private long openMs = BASE_OPEN_MS;
+    private boolean probeInFlight;
+
+    private CircuitBreaker(String name) {
+        this.name = name;
+    }
+
+    /**
+     * The breaker guarding one endpoint, created on first use
+     */
+    public static CircuitBreaker forEndpoint(String name) {
+        return BREAKERS.computeIfAbsent(name, CircuitBreaker::new);
+    }
+
+    /**
+     * Every breaker created so far, sorted by name
+     */
+    public static List<CircuitBreaker> all() {
+        return new ArrayList<>(BREAKERS.values());
+    }
+
+    /**
+     * Ask to send a call. Moves an open breaker to half-open once its cool-down is over.
+     * @return False if the call must fail fast
+     */
+    public synchronized boolean tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (System.currentTimeMillis() - openedAt < openMs) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                probeInFlight = true;
+                return true;
+            default:
+                if (probeInFlight) {
+                    return false;
+                }
+                probeInFlight = true;
+                return true;
+        }
+    }
+
+    /**
+     * Report a finished call. Slow successes count as failures.
+     */
+    public synchronized void record(boolean success, long latencyMs) {
+        boolean failure = !success || latencyMs > SLOW_CALL_MS;
+        if (state == State.HALF_OPEN) {
+            probeInFlight = false;
+            if (failure) {
+                open(Math.min(MAX_OPEN_MS, openMs * 2));
+            } else {
+                state = State.CLOSED;
+                openMs = BASE_OPEN_MS;
+                recorded = 0;
+                CTLTierTagger.LOGGER.info("Circuit for {} closed", name);
+            }
+        }
+
+        failed[next] = failure;
+        latencies[next] = latencyMs;
+        next = (next + 1) % WINDOW;
+        recorded = Math.min(WINDOW, recorded + 1);
+
+        if (state == State.CLOSED && recorded >= MIN_CALLS && failureRate() >= FAILURE_THRESHOLD) {
+            open(BASE_OPEN_MS);
+        }
+    }
+
+    /**
+     * Give back a half-open probe that was cancelled before it completed
+     */
+    public synchronized void release() {
+        probeInFlight = false;
+    }
+
+    private void open(long cooldownMs) {
+        state = State.OPEN;
+        openedAt = System.currentTimeMillis();
+        openMs = cooldownMs;
+        CTLTierTagger.LOGGER.warn("Circuit for {} opened for {} s", name, cooldownMs / 1000);
+    }
+
+    private double failureRate() {
+        if (recorded == 0) {
+            return 0;
+        }
+        int failures = 0;
+        for (int i = 0; i < recorded; i++) {
+            if (failed[(next - 1 - i + WINDOW) % WINDOW]) {
+                failures++;
+            }
+        }
+        return failures / (double) recorded;
+    }
+
+    /**
+     * Latency percentile over the window, or -1 with too few calls recorded
+     */
+    public synchronized long latencyPercentile(int percent) {
+        if (recorded < MIN_CALLS) {
+            return -1;
+        }
+        long[] window = new long[recorded];
+        for (int i = 0; i < recorded; i++) {
+            window[i] = latencies[(next - 1 - i + WINDOW) % WINDOW];
+        }
+        Arrays.sort(window);
+        return window[(recorded - 1) * percent / 100];
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized double getFailureRate() {
+        return failureRate();
+    }
+
+    public RetryBudget getRetryBudget() {
+        return retryBudget;
+    }
+
+    /**
+     * Thrown instead of sending a call while the breaker is open
+     */
+    public static class OpenException extends IOException {
+        public OpenException(String name) {
+            super("Circuit for " + name + " is open");
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.ctltierlist.tiertagger.api;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The API hosts (the primary and any mirrors) requests can be routed to.
+ * Each host keeps an EWMA of its response latency and a circuit breaker per route.
+ * Requests go to the fastest host whose breaker is closed and fail over down the list.
+ */
+public final class EndpointPool {
+    public static final String DEFAULT_BASE_URL = "https://private-ctltierlist-api.vercel.app";
+    private static final double EWMA_ALPHA = 0.3;
+    // Latency charged to a host for a failed call, so failing hosts sink in the order
+    private static final long FAILURE_PENALTY_MS = 5000;
+
+    private static final Map<String, Endpoint> KNOWN = new ConcurrentHashMap<>();
+    private static volatile List<Endpoint> endpoints = List.of(endpoint(DEFAULT_BASE_URL));
+
+    private EndpointPool() {
+    }
+
+    /**
+     * Replace the host list. Hosts that stay keep their latency history.
+     */
+    public static void setEndpoints(List<String> baseUrls) {
+        List<Endpoint> next = new ArrayList<>();
+        for (String url : baseUrls) {
+            String trimmed = url.trim();
+            while (trimmed.endsWith("/")) {
+                trimmed = trimmed.substring(0, trimmed.length() - 1);
+            }
+            if (!trimmed.isEmpty()) {
+                next.add(endpoint(trimmed));
+            }
+        }
+        endpoints = next.isEmpty() ? List.of(endpoint(DEFAULT_BASE_URL)) : List.copyOf(next);
+    }
+
+    private static Endpoint endpoint(String baseUrl) {
+        return KNOWN.computeIfAbsent(baseUrl, Endpoint::new);
+    }
+
+    public static List<Endpoint> all() {
+        return endpoints;
+    }
+
+    /**
+     * Hosts in the order to try for a route: closed breakers first by latency
+     * (untried hosts count as fastest), then half-open, then open ones
+     */
+    public static List<Endpoint> candidates(String route) {
+        List<Endpoint> ordered = new ArrayList<>(endpoints);
+        ordered.sort(Comparator
+            .comparingInt((Endpoint e) -> rank(e.breaker(route).getState()))
+            .thenComparingDouble(Endpoint::getLatencyMs));
+        return ordered;
+    }
+
+    /**
+     * Try order of a breaker state; spelled out rather than taken from the enum order
+     */
+    private static int rank(CircuitBreaker.State state) {
+        return switch (state) {
+            case CLOSED -> 0;
+            case HALF_OPEN -> 1;
+            case OPEN -> 2;
+        };
+    }
+
+    public static final class Endpoint {
+        private final String baseUrl;
+        private final String host;
+        private double latencyMs = -1;
+
+        private Endpoint(String baseUrl) {
+            this.baseUrl = baseUrl;
+            String host = baseUrl.replaceFirst("^[a-zA-Z]+://", "");
+            int slash = host.indexOf('/');
+            this.host = (slash >= 0 ? host.substring(0, slash) : host).toLowerCase(Locale.ROOT);
+        }
+
+        public String getBaseUrl() {
+            return baseUrl;
+        }
+
+        public String getHost() {
+            return host;
+        }
+
+        /**
+         * The breaker for one route on this host
+         */
+        public CircuitBreaker breaker(String route) {
+            return CircuitBreaker.forEndpoint(route + "@" + host);
+        }
+
+        /**
+         * Smoothed response latency, or -1 before the first call
+         */
+        public synchronized double getLatencyMs() {
+            return latencyMs;
+        }
+
+        synchronized void recordLatency(long sampleMs) {
+            latencyMs = latencyMs < 0 ? sampleMs : latencyMs + EWMA_ALPHA * (sampleMs - latencyMs);
+        }
+
+        void recordFailure(long elapsedMs) {
+            recordLatency(Math.max(elapsedMs, FAILURE_PENALTY_MS));
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.ctltierlist.tiertagger.api;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reader for player lists encoded as columnar MessagePack. Every field is one array, and
+ * regions, titles and gamemodes are codes into small string tables, so decoding is a
+ * handful of tight loops over the buffer. Any MessagePack library can produce it.
+ *
+ * The body is one map; keys may come in any order and unknown keys are skipped:
+ * <pre>
+ * version   int, 1
+ * regions   [str]  titles [str]  gamemodes [str]     string tables
+ * names     [str]  uuids [str]                       one entry per player, in rank order
+ * region    [int]  title [int]                       codes into the tables
+ * points    [int]  rank [int]
+ * tiers     [[int]] per player: gamemode code, tier code, gamemode code, tier code, ...
+ *                   where tier code = tier index (0 = HT1 ... 9 = LT5) | 0x80 if retired
+ * </pre>
+ */
+final class MessagePackPlayerDecoder implements PlayerDecoder {
+    static final String MEDIA_TYPE = "application/msgpack";
+    static final int VERSION = 1;
+    static final int RETIRED_FLAG = 0x80;
+
+    @Override
+    public String mediaType() {
+        return MEDIA_TYPE;
+    }
+
+    @Override
+    public List<TierListAPI.PlayerTierData> decode(ByteBuffer body) throws IOException {
+        try {
+            return read(new MessagePackReader(body));
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Truncated MessagePack player list", e);
+        }
+    }
+
+    private static List<TierListAPI.PlayerTierData> read(MessagePackReader in) throws IOException {
+        String[] regions = null;
+        String[] titles = null;
+        String[] gamemodes = null;
+        String[] names = null;
+        String[] uuids = null;
+        int[] regionCodes = null;
+        int[] titleCodes = null;
+        int[] points = null;
+        int[] ranks = null;
+        int[][] tiers = null;
+
+        int fields = in.readMapHeader();
+        for (int f = 0; f < fields; f++) {
+            String key = in.readString();
+            switch (key) {
+                case "version" -> {
+                    int version = in.readInt();
+                    if (version != VERSION) {
+                        throw new IOException("Unsupported player list version " + version);
+                    }
+                }
+                // Table entries are interned once, so every player shares them
+                case "regions" -> regions = readTable(in, StringDictionary.REGIONS);
+                case "titles" -> titles = readTable(in, StringDictionary.TITLES);
+                case "gamemodes" -> {
+                    // Same raw API keys as the JSON format ("sword", "cpvp", ...)
+                    gamemodes = readStrings(in);
+                    for (int i = 0; i < gamemodes.length; i++) {
+                        gamemodes[i] = StringDictionary.GAMEMODES.intern(TierListAPI.normalizeGamemode(gamemodes[i]));
+                    }
+                }
+                case "names" -> names = readStrings(in);
+                case "uuids" -> uuids = readStrings(in);
+                case "region" -> regionCodes = readInts(in);
+                case "title" -> titleCodes = readInts(in);
+                case "points" -> points = readInts(in);
+                case "rank" -> ranks = readInts(in);
+                case "tiers" -> {
+                    tiers = new int[in.readArrayHeader()][];
+                    for (int i = 0; i < tiers.length; i++) {
+                        tiers[i] = readInts(in);
+                    }
+                }
+                default -> in.skipValue();
+            }
+        }
+
+        if (names == null || regions == null || titles == null || gamemodes == null) {
+            throw new IOException("Player list without names or string tables");
+        }
+        int count = names.length;
+        checkColumn("uuids", uuids != null ? uuids.length : -1, count);
+        checkColumn("region", regionCodes != null ? regionCodes.length : -1, count);
+        checkColumn("title", titleCodes != null ? titleCodes.length : -1, count);
+        checkColumn("points", points != null ? points.length : -1, count);
+        checkColumn("rank", ranks != null ? ranks.length : -1, count);
+        checkColumn("tiers", tiers != null ? tiers.length : -1, count);
+
+        List<TierListAPI.PlayerTierData> players = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            TierListAPI.PlayerTierData player = new TierListAPI.PlayerTierData(
+                names[i], lookup(regions, regionCodes[i]), uuids[i], "", points[i], lookup(titles, titleCodes[i]), ranks[i]
+            );
+            int[] playerTiers = tiers[i];
+            if ((playerTiers.length & 1) != 0) {
+                throw new IOException("Odd tier list for " + names[i]);
+            }
+            for (int t = 0; t < playerTiers.length; t += 2) {
+                int encoded = playerTiers[t + 1];
+                int index = encoded & ~RETIRED_FLAG;
+                if (index < 0 || index >= Tier.COUNT) {
+                    throw new IOException("Bad tier entry for " + names[i]);
+                }
+                player.setTierForGamemode(lookup(gamemodes, playerTiers[t]), Tier.byIndex(index, (encoded & RETIRED_FLAG) != 0));
+            }
+            players.add(player);
+        }
+        return players;
+    }
+
+    private static String[] readTable(MessagePackReader in, StringDictionary dictionary) throws IOException {
+        String[] table = new String[in.readArrayHeader()];
+        for (int i = 0; i < table.length; i++) {
+            table[i] = dictionary.intern(in.readString());
+        }
+        return table;
+    }
+
+    private static String[] readStrings(MessagePackReader in) throws IOException {
+        String[] values = new String[in.readArrayHeader()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = in.readString();
+        }
+        return values;
+    }
+
+    private static int[] readInts(MessagePackReader in) throws IOException {
+        int[] values = new int[in.readArrayHeader()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = in.readInt();
+        }
+        return values;
+    }
+
+    private static String lookup(String[] table, int code) throws IOException {
+        if (code < 0 || code >= table.length) {
+            throw new IOException("String table code out of range: " + code);
+        }
+        return table[code];
+    }
+
+    /**
+     * @param length Length of the column, -1 if it was missing
+     */
+    private static void checkColumn(String name, int length, int count) throws IOException {
+        if (length != count) {
+            throw new IOException("Column " + name + " missing or not " + count + " entries long");
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.ctltierlist.tiertagger.api;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Minimal zero-copy MessagePack reader. Values are read in place from the buffer and
+ * strings are decoded straight from its backing array, so no intermediate tree is built.
+ * Covers the types the player formats use; anything else can still be skipped.
+ */
+final class MessagePackReader {
+    private final ByteBuffer in;
+
+    MessagePackReader(ByteBuffer body) {
+        this.in = body.duplicate().order(ByteOrder.BIG_ENDIAN);
+    }
+
+    int readMapHeader() throws IOException {
+        int type = in.get() & 0xFF;
+        if ((type & 0xF0) == 0x80) {
+            return type & 0x0F;
+        }
+        return switch (type) {
+            case 0xDE -> in.getShort() & 0xFFFF;
+            case 0xDF -> length(in.getInt());
+            default -> throw unexpected("map", type);
+        };
+    }
+
+    int readArrayHeader() throws IOException {
+        int type = in.get() & 0xFF;
+        if ((type & 0xF0) == 0x90) {
+            return type & 0x0F;
+        }
+        return switch (type) {
+            case 0xDC -> in.getShort() & 0xFFFF;
+            case 0xDD -> length(in.getInt());
+            default -> throw unexpected("array", type);
+        };
+    }
+
+    long readLong() throws IOException {
+        int type = in.get() & 0xFF;
+        if (type <= 0x7F) {
+            return type;
+        }
+        if (type >= 0xE0) {
+            return (byte) type;
+        }
+        return switch (type) {
+            case 0xCC -> in.get() & 0xFF;
+            case 0xCD -> in.getShort() & 0xFFFF;
+            case 0xCE -> in.getInt() & 0xFFFFFFFFL;
+            case 0xCF -> in.getLong();
+            case 0xD0 -> in.get();
+            case 0xD1 -> in.getShort();
+            case 0xD2 -> in.getInt();
+            case 0xD3 -> in.getLong();
+            default -> throw unexpected("integer", type);
+        };
+    }
+
+    int readInt() throws IOException {
+        long value = readLong();
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new IOException("Integer out of range: " + value);
+        }
+        return (int) value;
+    }
+
+    String readString() throws IOException {
+        int type = in.get() & 0xFF;
+        int length;
+        if ((type & 0xE0) == 0xA0) {
+            length = type & 0x1F;
+        } else {
+            length = switch (type) {
+                case 0xD9 -> in.get() & 0xFF;
+                case 0xDA -> in.getShort() & 0xFFFF;
+                case 0xDB -> length(in.getInt());
+                default -> throw unexpected("string", type);
+            };
+        }
+        if (length > in.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        String value;
+        if (in.hasArray()) {
+            value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+            in.position(in.position() + length);
+        } else {
+            byte[] bytes = new byte[length];
+            in.get(bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return value;
+    }
+
+    /**
+     * Skip one value of any type, including nested maps and arrays
+     */
+    void skipValue() throws IOException {
+        int type = in.get() & 0xFF;
+        long skip = 0;
+        long nested = 0;
+        if ((type & 0xF0) == 0x80) {
+            nested = 2L * (type & 0x0F);
+        } else if ((type & 0xF0) == 0x90) {
+            nested = type & 0x0F;
+        } else if ((type & 0xE0) == 0xA0) {
+            skip = type & 0x1F;
+        } else if (type > 0x7F && type < 0xE0) {
+            switch (type) {
+                case 0xC0, 0xC2, 0xC3 -> skip = 0;
+                case 0xC4, 0xD9 -> skip = in.get() & 0xFF;
+                case 0xC5, 0xDA -> skip = in.getShort() & 0xFFFF;
+                case 0xC6, 0xDB -> skip = length(in.getInt());
+                // Ext types: length, then a type byte, then the data
+                case 0xC7 -> skip = (in.get() & 0xFF) + 1L;
+                case 0xC8 -> skip = (in.getShort() & 0xFFFF) + 1L;
+                case 0xC9 -> skip = length(in.getInt()) + 1L;
+                case 0xCA -> skip = 4;
+                case 0xCB -> skip = 8;
+                case 0xCC, 0xD0 -> skip = 1;
+                case 0xCD, 0xD1 -> skip = 2;
+                case 0xCE, 0xD2 -> skip = 4;
+                case 0xCF, 0xD3 -> skip = 8;
+                case 0xD4 -> skip = 2;
+                case 0xD5 -> skip = 3;
+                case 0xD6 -> skip = 5;
+                case 0xD7 -> skip = 9;
+                case 0xD8 -> skip = 17;
+                case 0xDC -> nested = in.getShort() & 0xFFFF;
+                case 0xDD -> nested = length(in.getInt());
+                case 0xDE -> nested = 2L * (in.getShort() & 0xFFFF);
+                case 0xDF -> nested = 2L * length(in.getInt());
+                default -> throw unexpected("value", type);
+            }
+        }
+        if (skip > in.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        in.position(in.position() + (int) skip);
+        for (long i = 0; i < nested; i++) {
+            skipValue();
+        }
+    }
+
+    private int length(int raw) throws IOException {
+        if (raw < 0 || raw > in.remaining()) {
+            throw new IOException("Bad MessagePack length " + Integer.toUnsignedString(raw));
+        }
+        return raw;
+    }
+
+    private IOException unexpected(String expected, int type) {
+        return new IOException(String.format("Expected MessagePack %s, found type 0x%02X at %d",
+            expected, type, in.position() - 1));
+    }
+}
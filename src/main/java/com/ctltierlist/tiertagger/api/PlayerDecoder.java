@@ -0,0 +1,24 @@
+package com.ctltierlist.tiertagger.api;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Decoder for a binary player list encoding the API may answer with instead of JSON.
+ * Implementations are registered with {@link WireFormat}, which advertises them in the
+ * Accept header and picks one by the response's Content-Type.
+ */
+public interface PlayerDecoder {
+    /**
+     * Media type this decoder reads, e.g. "application/msgpack"
+     */
+    String mediaType();
+
+    /**
+     * Decode every player in the body, in the order the server sent them.
+     * Reads straight from the buffer; does not keep a reference to it.
+     * @throws IOException If the body is malformed
+     */
+    List<TierListAPI.PlayerTierData> decode(ByteBuffer body) throws IOException;
+}
@@ -0,0 +1,218 @@
+package com.ctltierlist.tiertagger.api;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * One queue for every outgoing request of the mod, served by priority class.
+ * At most MAX_RUNNING requests are in flight. Classes are served strictly in order,
+ * FIFO within a class, and prefetch/background work may only take LOW_PRIORITY_LIMIT
+ * slots so visible players and searches always find one free quickly. When the slots are
+ * full anyway, a visible or search request preempts the newest low-priority request: it
+ * is cancelled and put back at the head of its queue to be sent again later.
+ */
+public final class RequestScheduler {
+    public enum Priority {
+        /** Players currently on screen */
+        VISIBLE,
+        /** Explicit user searches and profile opens */
+        SEARCH,
+        /** Players likely to be seen soon */
+        PREFETCH,
+        /** Periodic refreshes */
+        BACKGROUND;
+
+        boolean isPreemptible() {
+            return compareTo(PREFETCH) >= 0;
+        }
+    }
+
+    private static final int MAX_RUNNING = 8;
+    private static final int LOW_PRIORITY_LIMIT = 6;
+    // A request preempted this often runs to completion, so it cannot starve
+    private static final int MAX_PREEMPTIONS = 3;
+
+    private static final Map<Priority, ArrayDeque<Task<?>>> QUEUES = new EnumMap<>(Priority.class);
+    private static final List<Task<?>> RUNNING = new ArrayList<>();
+
+    static {
+        for (Priority priority : Priority.values()) {
+            QUEUES.put(priority, new ArrayDeque<>());
+        }
+    }
+
+    private RequestScheduler() {
+    }
+
+    /**
+     * Queue a request. {@code start} must begin the request and return its future;
+     * cancelling that future must abort the request (as HttpClient.sendAsync does),
+     * because preemption relies on it. Cancelling the returned future drops the
+     * request from the queue or aborts it.
+     */
+    public static <T> CompletableFuture<T> submit(Priority priority, Supplier<CompletableFuture<T>> start) {
+        Task<T> task = new Task<>(priority, start);
+        task.result.whenComplete((value, error) -> {
+            if (task.result.isCancelled()) {
+                cancel(task);
+            }
+        });
+
+        CompletableFuture<?> victim = null;
+        synchronized (RequestScheduler.class) {
+            QUEUES.get(priority).addLast(task);
+            if (!priority.isPreemptible() && RUNNING.size() >= MAX_RUNNING) {
+                victim = preempt();
+            }
+        }
+        if (victim != null) {
+            victim.cancel(true);
+        }
+        dispatch();
+        return task.result;
+    }
+
+    /**
+     * Pull the newest running request of the lowest preemptible class back into its queue
+     * @return Its call to cancel, or null if nothing may be preempted
+     */
+    private static CompletableFuture<?> preempt() {
+        Task<?> victim = null;
+        for (Task<?> task : RUNNING) {
+            if (task.priority.isPreemptible() && task.preemptions < MAX_PREEMPTIONS
+                && (victim == null || task.priority.compareTo(victim.priority) >= 0)) {
+                victim = task;
+            }
+        }
+        if (victim == null) {
+            return null;
+        }
+        CompletableFuture<?> call = victim.call;
+        victim.call = null;
+        victim.preemptions++;
+        RUNNING.remove(victim);
+        QUEUES.get(victim.priority).addFirst(victim);
+        return call;
+    }
+
+    private static boolean hasCapacity(Priority priority) {
+        if (RUNNING.size() >= MAX_RUNNING) {
+            return false;
+        }
+        if (!priority.isPreemptible()) {
+            return true;
+        }
+        int low = 0;
+        for (Task<?> task : RUNNING) {
+            if (task.priority.isPreemptible()) {
+                low++;
+            }
+        }
+        return low < LOW_PRIORITY_LIMIT;
+    }
+
+    /**
+     * Start queued requests while slots are free, highest class first
+     */
+    private static void dispatch() {
+        List<Task<?>> toStart = new ArrayList<>();
+        List<Integer> generations = new ArrayList<>();
+        synchronized (RequestScheduler.class) {
+            for (Priority priority : Priority.values()) {
+                ArrayDeque<Task<?>> queue = QUEUES.get(priority);
+                while (!queue.isEmpty() && hasCapacity(priority)) {
+                    Task<?> task = queue.pollFirst();
+                    RUNNING.add(task);
+                    toStart.add(task);
+                    generations.add(++task.generation);
+                }
+            }
+        }
+        for (int i = 0; i < toStart.size(); i++) {
+            toStart.get(i).begin(generations.get(i));
+        }
+    }
+
+    private static void cancel(Task<?> task) {
+        CompletableFuture<?> call;
+        synchronized (RequestScheduler.class) {
+            QUEUES.get(task.priority).remove(task);
+            call = task.call;
+        }
+        if (call != null) {
+            call.cancel(true);
+        }
+    }
+
+    public static synchronized int getRunningCount() {
+        return RUNNING.size();
+    }
+
+    public static synchronized int getQueuedCount(Priority priority) {
+        return QUEUES.get(priority).size();
+    }
+
+    private static final class Task<T> {
+        final Priority priority;
+        final Supplier<CompletableFuture<T>> start;
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        // Call currently in flight; null while queued
+        CompletableFuture<T> call;
+        int preemptions;
+        // Bumped on every start, so a stale start after a preemption is recognized
+        int generation;
+
+        Task(Priority priority, Supplier<CompletableFuture<T>> start) {
+            this.priority = priority;
+            this.start = start;
+        }
+
+        void begin(int startGeneration) {
+            CompletableFuture<T> next;
+            try {
+                next = start.get();
+            } catch (RuntimeException e) {
+                next = CompletableFuture.failedFuture(e);
+            }
+            CompletableFuture<T> started = next;
+            boolean stale;
+            synchronized (RequestScheduler.class) {
+                // Preempted, or cancelled by the caller, before the call was recorded
+                stale = generation != startGeneration || !RUNNING.contains(this) || result.isDone();
+                if (!stale) {
+                    call = started;
+                } else if (generation == startGeneration) {
+                    RUNNING.remove(this);
+                }
+            }
+            if (stale) {
+                started.cancel(true);
+                dispatch();
+                return;
+            }
+            started.whenComplete((value, error) -> finish(started, value, error));
+        }
+
+        private void finish(CompletableFuture<T> finished, T value, Throwable error) {
+            synchronized (RequestScheduler.class) {
+                if (call != finished) {
+                    // A preempted call; the task is queued again
+                    return;
+                }
+                call = null;
+                RUNNING.remove(this);
+            }
+            if (error != null) {
+                result.completeExceptionally(error);
+            } else {
+                result.complete(value);
+            }
+            dispatch();
+        }
+    }
+}
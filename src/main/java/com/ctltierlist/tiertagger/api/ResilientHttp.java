@@ -0,0 +1,262 @@
+package com.ctltierlist.tiertagger.api;
+
+import com.ctltierlist.tiertagger.CTLTierTagger;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Sends idempotent API requests across the {@link EndpointPool} through per-host circuit breakers.
+ * The request goes to the best host first; on failure it fails over to the next host whose
+ * breaker allows it. A call still running after the host's p90 latency gets a hedged duplicate
+ * (on the next host when there is one), and with every host tried a failed call is retried
+ * once. Hedges and retries are paid for from the host's retry budget. The first usable
+ * response wins and the other attempts are cancelled. With every breaker open the call
+ * fails at once.
+ */
+public final class ResilientHttp {
+    private static final long HEDGE_MIN_MS = 300;
+    private static final long HEDGE_MAX_MS = 3000;
+    private static final long RETRY_DELAY_MS = 250;
+
+    private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "CTL-TierTagger-ApiTimer");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private ResilientHttp() {
+    }
+
+    /**
+     * Send a request with hedging. Cancelling the returned future cancels every attempt.
+     * @param route Name of the API route, used to key the breakers
+     * @param requestFor Builds the request for a host's base URL
+     */
+    public static <T> CompletableFuture<HttpResponse<T>> send(HttpClient client, String route,
+                                                              Function<String, HttpRequest> requestFor,
+                                                              HttpResponse.BodyHandler<T> handler) {
+        return send(client, route, requestFor, handler, true);
+    }
+
+    /**
+     * Send a request, optionally without hedging (for large bodies where a duplicate
+     * download costs more than the tail latency it saves).
+     * Completes exceptionally with {@link CircuitBreaker.OpenException} when failing fast.
+     */
+    public static <T> CompletableFuture<HttpResponse<T>> send(HttpClient client, String route,
+                                                              Function<String, HttpRequest> requestFor,
+                                                              HttpResponse.BodyHandler<T> handler, boolean hedged) {
+        Exchange<T> exchange = new Exchange<>(client, route, requestFor, handler, EndpointPool.candidates(route));
+        if (!exchange.start()) {
+            return CompletableFuture.failedFuture(new CircuitBreaker.OpenException(route));
+        }
+
+        ScheduledFuture<?> hedge = hedged
+            ? TIMER.schedule(exchange::hedge, exchange.hedgeDelay(), TimeUnit.MILLISECONDS)
+            : null;
+        exchange.result.whenComplete((response, error) -> {
+            if (hedge != null) {
+                hedge.cancel(false);
+            }
+            exchange.cancelAll();
+        });
+        return exchange.result;
+    }
+
+    /**
+     * Server-side trouble worth another attempt; client errors are final
+     */
+    private static boolean isServerFailure(int status) {
+        return status >= 500 || status == 429;
+    }
+
+    private static final class Exchange<T> {
+        final CompletableFuture<HttpResponse<T>> result = new CompletableFuture<>();
+        private final HttpClient client;
+        private final String route;
+        private final Function<String, HttpRequest> requestFor;
+        private final HttpResponse.BodyHandler<T> handler;
+        private final List<EndpointPool.Endpoint> candidates;
+        private final List<CompletableFuture<HttpResponse<T>>> inFlight = new CopyOnWriteArrayList<>();
+        private EndpointPool.Endpoint primary;
+        private int nextCandidate;
+        private int outstanding;
+        private boolean extraAttemptUsed;
+
+        Exchange(HttpClient client, String route, Function<String, HttpRequest> requestFor,
+                 HttpResponse.BodyHandler<T> handler, List<EndpointPool.Endpoint> candidates) {
+            this.client = client;
+            this.route = route;
+            this.requestFor = requestFor;
+            this.handler = handler;
+            this.candidates = candidates;
+        }
+
+        /**
+         * Send to the first host that accepts the call
+         * @return False if every host's breaker is open
+         */
+        synchronized boolean start() {
+            primary = acquireUntried();
+            if (primary == null) {
+                return false;
+            }
+            primary.breaker(route).getRetryBudget().onRequest();
+            launch(primary);
+            return true;
+        }
+
+        long hedgeDelay() {
+            long p90 = primary.breaker(route).latencyPercentile(90);
+            return p90 < 0 ? HEDGE_MAX_MS : Math.max(HEDGE_MIN_MS, Math.min(HEDGE_MAX_MS, p90));
+        }
+
+        /**
+         * Next host not tried yet whose breaker lets a call through
+         */
+        private EndpointPool.Endpoint acquireUntried() {
+            while (nextCandidate < candidates.size()) {
+                EndpointPool.Endpoint endpoint = candidates.get(nextCandidate++);
+                if (endpoint.breaker(route).tryAcquire()) {
+                    return endpoint;
+                }
+            }
+            return null;
+        }
+
+        private void launch(EndpointPool.Endpoint endpoint) {
+            outstanding++;
+            long start = System.nanoTime();
+            CompletableFuture<HttpResponse<T>> call = client.sendAsync(requestFor.apply(endpoint.getBaseUrl()), handler);
+            inFlight.add(call);
+            call.whenComplete((response, error) ->
+                onAttemptDone(endpoint, response, error, (System.nanoTime() - start) / 1_000_000));
+        }
+
+        /**
+         * Fire a duplicate of a call that is taking longer than usual
+         */
+        synchronized void hedge() {
+            // A half-open probe must stay a single call
+            if (result.isDone() || extraAttemptUsed
+                || primary.breaker(route).getState() != CircuitBreaker.State.CLOSED
+                || !primary.breaker(route).getRetryBudget().tryAcquire()) {
+                return;
+            }
+            EndpointPool.Endpoint target = acquireUntried();
+            if (target == null && primary.breaker(route).tryAcquire()) {
+                target = primary;
+            }
+            if (target != null) {
+                extraAttemptUsed = true;
+                launch(target);
+            }
+        }
+
+        private synchronized void retry(EndpointPool.Endpoint endpoint, HttpResponse<T> lastResponse, Throwable lastError) {
+            if (result.isDone()) {
+                return;
+            }
+            if (endpoint.breaker(route).tryAcquire()) {
+                discard(lastResponse);
+                launch(endpoint);
+            } else {
+                complete(lastResponse, lastError);
+            }
+        }
+
+        private void onAttemptDone(EndpointPool.Endpoint endpoint, HttpResponse<T> response, Throwable error, long latencyMs) {
+            CircuitBreaker breaker = endpoint.breaker(route);
+            boolean retry = false;
+            synchronized (this) {
+                outstanding--;
+                // The client reports a cancelled call wrapped in a CompletionException
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                if (cause instanceof CancellationException) {
+                    // Losing side of a hedge, or the caller gave up
+                    breaker.release();
+                    return;
+                }
+                boolean ok = error == null && !isServerFailure(response.statusCode());
+                breaker.record(ok, latencyMs);
+                if (ok) {
+                    endpoint.recordLatency(latencyMs);
+                } else {
+                    endpoint.recordFailure(latencyMs);
+                }
+
+                if (result.isDone()) {
+                    discard(response);
+                    return;
+                }
+                if (ok) {
+                    result.complete(response);
+                    return;
+                }
+                if (outstanding > 0) {
+                    // Another attempt may still succeed
+                    discard(response);
+                    return;
+                }
+
+                // Each host sees at most one failover call, so that is free; retrying costs budget
+                EndpointPool.Endpoint next = acquireUntried();
+                if (next != null) {
+                    CTLTierTagger.LOGGER.debug("Failing over {} from {} to {}", route, endpoint.getHost(), next.getHost());
+                    discard(response);
+                    launch(next);
+                    return;
+                }
+                retry = !extraAttemptUsed
+                    && breaker.getState() == CircuitBreaker.State.CLOSED
+                    && breaker.getRetryBudget().tryAcquire();
+                if (retry) {
+                    extraAttemptUsed = true;
+                } else {
+                    complete(response, error);
+                }
+            }
+            if (retry) {
+                TIMER.schedule(() -> retry(endpoint, response, error), RETRY_DELAY_MS, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        private void complete(HttpResponse<T> response, Throwable error) {
+            if (response != null) {
+                result.complete(response);
+            } else {
+                result.completeExceptionally(error);
+            }
+        }
+
+        /**
+         * Release a response nobody will read (e.g. an unread streaming body)
+         */
+        private static void discard(HttpResponse<?> response) {
+            if (response != null && response.body() instanceof AutoCloseable body) {
+                try {
+                    body.close();
+                } catch (Exception ignored) {
+                }
+            }
+        }
+
+        void cancelAll() {
+            for (CompletableFuture<HttpResponse<T>> call : inFlight) {
+                call.cancel(true);
+            }
+        }
+    }
+}
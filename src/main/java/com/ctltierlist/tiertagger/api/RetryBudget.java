@@ -0,0 +1,34 @@
+package com.ctltierlist.tiertagger.api;
+
+/**
+ * Caps extra attempts (retries and hedged requests) to a fraction of real traffic.
+ * Every request earns a fraction of a token and every extra attempt spends a whole one,
+ * so a failing endpoint can never be hit with more than about RATIO times the normal load.
+ */
+public final class RetryBudget {
+    private static final double RATIO = 0.2;
+    private static final double MAX_TOKENS = 10;
+    private static final double INITIAL_TOKENS = 3;
+
+    private double tokens = INITIAL_TOKENS;
+
+    synchronized void onRequest() {
+        tokens = Math.min(MAX_TOKENS, tokens + RATIO);
+    }
+
+    /**
+     * Spend a token for one extra attempt
+     * @return False if the budget is exhausted
+     */
+    synchronized boolean tryAcquire() {
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+
+    public synchronized double getTokens() {
+        return tokens;
+    }
+}
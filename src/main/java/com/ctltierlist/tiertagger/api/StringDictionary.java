@@ -0,0 +1,122 @@
+package com.ctltierlist.tiertagger.api;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Append-only interning dictionary for the few distinct values of low-cardinality
+ * player fields (regions, titles, gamemode names).
+ * Interning returns one canonical String per value, so thousands of players share it,
+ * and every value gets a stable dense code that compact record formats store instead
+ * of the text. Codes never change for the lifetime of the game.
+ */
+public final class StringDictionary {
+    public static final StringDictionary REGIONS = new StringDictionary("regions");
+    public static final StringDictionary TITLES = new StringDictionary("titles");
+    public static final StringDictionary GAMEMODES = new StringDictionary("gamemodes");
+
+    private static final int MAX_CODES = 0xFFFF;
+
+    private final String name;
+    private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+    private volatile String[] values = new String[0];
+    private final AtomicLong duplicatesDropped = new AtomicLong();
+    private final AtomicLong bytesSaved = new AtomicLong();
+
+    private StringDictionary(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Canonical instance of a value. Counts the passed copy as saved when a canonical
+     * instance already exists. Values past the code limit are returned as-is.
+     */
+    public String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        int code = code(value);
+        if (code < 0) {
+            return value;
+        }
+        String canonical = values[code];
+        if (canonical != value) {
+            duplicatesDropped.incrementAndGet();
+            bytesSaved.addAndGet(estimateBytes(value));
+        }
+        return canonical;
+    }
+
+    /**
+     * Code of a value, adding it if new
+     * @return The code, or -1 if the dictionary is full
+     */
+    public int code(String value) {
+        Integer code = codes.get(value);
+        if (code != null) {
+            return code;
+        }
+        synchronized (this) {
+            code = codes.get(value);
+            if (code != null) {
+                return code;
+            }
+            String[] current = values;
+            if (current.length >= MAX_CODES) {
+                return -1;
+            }
+            String[] grown = new String[current.length + 1];
+            System.arraycopy(current, 0, grown, 0, current.length);
+            grown[current.length] = value;
+            values = grown;
+            codes.put(value, current.length);
+            return current.length;
+        }
+    }
+
+    /**
+     * Code of a value without adding it, or -1 if unknown
+     */
+    public int find(String value) {
+        Integer code = value != null ? codes.get(value) : null;
+        return code != null ? code : -1;
+    }
+
+    public String get(int code) {
+        return values[code];
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    public long getDuplicatesDropped() {
+        return duplicatesDropped.get();
+    }
+
+    public long getBytesSaved() {
+        return bytesSaved.get();
+    }
+
+    /**
+     * Approximate retained size of a String with compact (Latin-1) storage:
+     * object header and fields plus its byte array, 8-byte aligned
+     */
+    public static long estimateBytes(String value) {
+        return 24 + ((16 + value.length() + 7) & ~7);
+    }
+
+    /**
+     * One-line summary of every shared dictionary, for heap reports
+     */
+    public static String report() {
+        return REGIONS + "; " + TITLES + "; " + GAMEMODES;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d values, %d duplicates dropped (~%d KB)",
+            name, size(), getDuplicatesDropped(), getBytesSaved() / 1024);
+    }
+}
@@ -0,0 +1,136 @@
+package com.ctltierlist.tiertagger.api;
+
+/**
+ * Interned tier value (HT1-LT5, optionally retired).
+ * Every tier exists exactly once, so tiers can be compared with == and
+ * ordered by their precomputed sort key without any string parsing.
+ */
+public final class Tier implements Comparable<Tier> {
+    public static final int MAX_LEVEL = 5;
+    /** Number of distinct ranked tiers (HT1..LT5), also the number of color slots */
+    public static final int COUNT = MAX_LEVEL * 2;
+
+    private static final int UNRANKED_VALUE = 999;
+    private static final int RETIRED_OFFSET = 1 << 10;
+
+    public static final Tier UNRANKED = new Tier(0, false, false, "Unranked");
+
+    private static final Tier[] ACTIVE = new Tier[COUNT];
+    private static final Tier[] RETIRED = new Tier[COUNT];
+
+    static {
+        for (int level = 1; level <= MAX_LEVEL; level++) {
+            for (int high = 0; high < 2; high++) {
+                boolean isHigh = high == 1;
+                String label = (isHigh ? "HT" : "LT") + level;
+                Tier active = new Tier(level, isHigh, false, label);
+                ACTIVE[active.index] = active;
+                RETIRED[active.index] = new Tier(level, isHigh, true, "R" + label);
+            }
+        }
+    }
+
+    private final int level;
+    private final boolean high;
+    private final boolean retired;
+    private final int index;
+    private final int value;
+    private final int sortKey;
+    private final String label;
+
+    private Tier(int level, boolean high, boolean retired, String label) {
+        this.level = level;
+        this.high = high;
+        this.retired = retired;
+        this.label = label;
+        if (level == 0) {
+            this.index = -1;
+            this.value = UNRANKED_VALUE;
+        } else {
+            this.index = (level - 1) * 2 + (high ? 0 : 1);
+            this.value = index + 1; // HT1=1, LT1=2, HT2=3, ...
+        }
+        this.sortKey = retired ? RETIRED_OFFSET + value : value;
+    }
+
+    /**
+     * Look up a tier from an API rank string ("HT3", "LT1") and retired flag.
+     * Unknown strings map to {@link #UNRANKED}.
+     */
+    public static Tier of(String rank, boolean retired) {
+        if (rank == null || rank.length() != 3 || rank.charAt(1) != 'T') {
+            return UNRANKED;
+        }
+        char kind = rank.charAt(0);
+        int level = rank.charAt(2) - '0';
+        if ((kind != 'H' && kind != 'L') || level < 1 || level > MAX_LEVEL) {
+            return UNRANKED;
+        }
+        return of(level, kind == 'H', retired);
+    }
+
+    public static Tier of(int level, boolean high, boolean retired) {
+        if (level < 1 || level > MAX_LEVEL) {
+            return UNRANKED;
+        }
+        int index = (level - 1) * 2 + (high ? 0 : 1);
+        return retired ? RETIRED[index] : ACTIVE[index];
+    }
+
+    /**
+     * Parse a display label, accepting the "R" prefix used for retired tiers ("RHT3").
+     */
+    public static Tier parse(String label) {
+        if (label != null && label.length() == 4 && label.charAt(0) == 'R') {
+            return of(label.substring(1), true);
+        }
+        return of(label, false);
+    }
+
+    /**
+     * Look up a tier by its color slot index (0 = HT1 ... 9 = LT5)
+     */
+    public static Tier byIndex(int index, boolean retired) {
+        if (index < 0 || index >= COUNT) {
+            return UNRANKED;
+        }
+        return retired ? RETIRED[index] : ACTIVE[index];
+    }
+
+    public int level() { return level; }
+    public boolean isHigh() { return high; }
+    public boolean isRetired() { return retired; }
+    public boolean isRanked() { return level != 0; }
+
+    /** Color slot index, 0 = HT1 ... 9 = LT5, or -1 when unranked */
+    public int index() { return index; }
+
+    /** Numeric value ignoring retirement (lower is better): HT1=1, LT1=2, ..., unranked=999 */
+    public int value() { return value; }
+
+    /** Ordering key: active tiers first, then by value */
+    public int sortKey() { return sortKey; }
+
+    /** Display label, including the "R" prefix when retired */
+    public String label() { return label; }
+
+    /** The same tier without the retired flag */
+    public Tier active() {
+        return retired ? ACTIVE[index] : this;
+    }
+
+    /** True if this tier ranks strictly above the other, ignoring retirement */
+    public boolean isBetterThan(Tier other) {
+        return value < other.value;
+    }
+
+    @Override
+    public int compareTo(Tier other) {
+        return Integer.compare(sortKey, other.sortKey);
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -11,15 +11,17 @@ import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 
 public class TierListAPI {
-    private static final String API_BASE_URL = "https://private-ctltierlist-api.vercel.app";
     private static final HttpClient HTTP_CLIENT = HttpClient.newBuilder()
             .connectTimeout(Duration.ofSeconds(10))
             .build();
@@ -31,24 +33,40 @@ public class TierListAPI {
      * @return CompletableFuture with PlayerTierData
      */
     public static CompletableFuture<PlayerTierData> fetchPlayerTier(String playerName) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                String url = API_BASE_URL + "/api/search_profile/" + playerName;
-                HttpRequest request = HttpRequest.newBuilder()
-                        .uri(URI.create(url))
-                        .timeout(Duration.ofSeconds(15))
-                        .GET()
-                        .build();
+        return fetchPlayerTier(playerName, RequestScheduler.Priority.SEARCH);
+    }
 
-                HttpResponse<String> response = HTTP_CLIENT.send(request, HttpResponse.BodyHandlers.ofString());
+    /**
+     * Fetch player profile data from the API, queued at the given priority
+     */
+    public static CompletableFuture<PlayerTierData> fetchPlayerTier(String playerName, RequestScheduler.Priority priority) {
+        String path = "/api/search_profile/" + playerName;
+        CompletableFuture<HttpResponse<byte[]>> responseFuture = RequestScheduler.submit(priority, () ->
+                ResilientHttp.send(HTTP_CLIENT, "profile",
+                        baseUrl -> buildRequest(baseUrl + path, Duration.ofSeconds(15)), HttpResponse.BodyHandlers.ofByteArray()));
 
-                if (response.statusCode() == 200) {
-                    JsonObject json = JsonParser.parseString(response.body()).getAsJsonObject();
-                    return parsePlayerData(json, playerName);
-                } else {
-                    CTLTierTagger.LOGGER.warn("Failed to fetch tier for {}: HTTP {}", playerName, response.statusCode());
-                    return null;
+        return responseFuture.handle((response, error) -> {
+            if (error != null) {
+                logFailure("Error fetching tier for " + playerName, error);
+                return null;
+            }
+            if (response.statusCode() == 404) {
+                // Unranked players have no profile; routine for names seen in the player list
+                CTLTierTagger.LOGGER.debug("No profile for {}", playerName);
+                return null;
+            }
+            if (response.statusCode() != 200) {
+                CTLTierTagger.LOGGER.warn("Failed to fetch tier for {}: HTTP {}", playerName, response.statusCode());
+                return null;
+            }
+            try {
+                PlayerDecoder decoder = WireFormat.forResponse(response);
+                if (decoder != null) {
+                    List<PlayerTierData> players = decoder.decode(ByteBuffer.wrap(response.body()));
+                    return players.isEmpty() ? null : players.get(0);
                 }
+                JsonObject json = JsonParser.parseString(new String(response.body(), StandardCharsets.UTF_8)).getAsJsonObject();
+                return parsePlayerData(json, playerName);
             } catch (Exception e) {
                 CTLTierTagger.LOGGER.error("Error fetching tier for {}: {}", playerName, e.getMessage());
                 return null;
@@ -56,69 +74,110 @@ public class TierListAPI {
         });
     }
 
+    private static HttpRequest buildRequest(String url, Duration timeout) {
+        return HttpRequest.newBuilder()
+                .uri(URI.create(url))
+                .timeout(timeout)
+                .header("Accept", WireFormat.acceptHeader())
+                .GET()
+                .build();
+    }
+
     /**
-     * Search for players by name prefix
+     * Log a failed call; fast failures from an open circuit only at debug level
+     */
+    private static void logFailure(String message, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof CircuitBreaker.OpenException) {
+            CTLTierTagger.LOGGER.debug("{}: {}", message, cause.getMessage());
+        } else {
+            CTLTierTagger.LOGGER.error("{}: {}", message, cause.getMessage());
+        }
+    }
+
+    /**
+     * Search for players by name prefix.
+     * Cancelling the returned future aborts the underlying HTTP request.
      * @param query The search query (player name prefix)
      * @return CompletableFuture with list of PlayerSearchResult
      */
     public static CompletableFuture<List<PlayerSearchResult>> searchPlayers(String query) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                String url = API_BASE_URL + "/api/search_profile/" + query.replace(" ", "%20");
-                HttpRequest request = HttpRequest.newBuilder()
-                        .uri(URI.create(url))
-                        .timeout(Duration.ofSeconds(10))
-                        .GET()
-                        .build();
+        String path = "/api/search_profile/" + query.replace(" ", "%20");
+        CompletableFuture<HttpResponse<byte[]>> responseFuture = RequestScheduler.submit(RequestScheduler.Priority.SEARCH, () ->
+                ResilientHttp.send(HTTP_CLIENT, "search",
+                        baseUrl -> buildRequest(baseUrl + path, Duration.ofSeconds(10)), HttpResponse.BodyHandlers.ofByteArray()));
+
+        CompletableFuture<List<PlayerSearchResult>> resultFuture = responseFuture.handle((response, error) -> {
+            if (error != null) {
+                logFailure("Error searching players", error);
+                return new ArrayList<>();
+            }
+            if (response.statusCode() != 200) {
+                CTLTierTagger.LOGGER.warn("Failed to search player {}: HTTP {}", query, response.statusCode());
+                return new ArrayList<>();
+            }
+            PlayerDecoder decoder = WireFormat.forResponse(response);
+            if (decoder != null) {
+                return decodeSearchResults(decoder, response.body());
+            }
+            return parseSearchResults(new String(response.body(), StandardCharsets.UTF_8), query);
+        });
+
+        // Propagate cancellation (e.g. superseded keystrokes) to the HTTP exchange
+        resultFuture.whenComplete((players, error) -> {
+            if (resultFuture.isCancelled()) {
+                responseFuture.cancel(true);
+            }
+        });
+        return resultFuture;
+    }
 
-                HttpResponse<String> response = HTTP_CLIENT.send(request, HttpResponse.BodyHandlers.ofString());
+    private static List<PlayerSearchResult> decodeSearchResults(PlayerDecoder decoder, byte[] body) {
+        List<PlayerSearchResult> players = new ArrayList<>();
+        try {
+            for (PlayerTierData player : decoder.decode(ByteBuffer.wrap(body))) {
+                players.add(new PlayerSearchResult(player.playerName, player.uuid, player.getHighestTier().active()));
+            }
+        } catch (Exception decodeError) {
+            CTLTierTagger.LOGGER.error("Error decoding search result: {}", decodeError.getMessage());
+        }
+        return players;
+    }
 
-                if (response.statusCode() == 200) {
-                    List<PlayerSearchResult> players = new ArrayList<>();
+    private static List<PlayerSearchResult> parseSearchResults(String body, String query) {
+        List<PlayerSearchResult> players = new ArrayList<>();
+        
+        try {
+            JsonObject json = JsonParser.parseString(body).getAsJsonObject();
+            
+            if (json.has("profile")) {
+                JsonObject profile = json.getAsJsonObject("profile");
+                String playerName = profile.has("ingameName") ? profile.get("ingameName").getAsString() : query;
+                String uuid = profile.has("uuid") ? profile.get("uuid").getAsString() : "";
+                
+                // Get highest tier from ranks
+                Tier tier = Tier.UNRANKED;
+                if (json.has("ranks")) {
+                    JsonObject ranks = json.getAsJsonObject("ranks");
                     
-                    try {
-                        JsonObject json = JsonParser.parseString(response.body()).getAsJsonObject();
-                        
-                        if (json.has("profile")) {
-                            JsonObject profile = json.getAsJsonObject("profile");
-                            String playerName = profile.has("ingameName") ? profile.get("ingameName").getAsString() : query;
-                            String uuid = profile.has("uuid") ? profile.get("uuid").getAsString() : "";
-                            
-                            // Get highest tier from ranks
-                            String tier = "Unranked";
-                            if (json.has("ranks")) {
-                                JsonObject ranks = json.getAsJsonObject("ranks");
-                                int bestTierValue = 999;
-                                
-                                for (String gamemode : ranks.keySet()) {
-                                    JsonObject rankData = ranks.getAsJsonObject(gamemode);
-                                    if (rankData.has("rank")) {
-                                        String rank = rankData.get("rank").getAsString();
-                                        int tierValue = getTierValue(rank);
-                                        if (tierValue < bestTierValue) {
-                                            bestTierValue = tierValue;
-                                            tier = rank;
-                                        }
-                                    }
-                                }
+                    for (String gamemode : ranks.keySet()) {
+                        JsonObject rankData = ranks.getAsJsonObject(gamemode);
+                        if (rankData.has("rank")) {
+                            Tier rank = Tier.of(rankData.get("rank").getAsString(), false);
+                            if (rank.isBetterThan(tier)) {
+                                tier = rank;
                             }
-                            
-                            players.add(new PlayerSearchResult(playerName, uuid, tier));
                         }
-                    } catch (Exception parseError) {
-                        CTLTierTagger.LOGGER.error("Error parsing search result: {}", parseError.getMessage());
                     }
-                    
-                    return players;
-                } else {
-                    CTLTierTagger.LOGGER.warn("Failed to search player {}: HTTP {}", query, response.statusCode());
-                    return new ArrayList<>();
                 }
-            } catch (Exception e) {
-                CTLTierTagger.LOGGER.error("Error searching players: {}", e.getMessage());
-                return new ArrayList<>();
+                
+                players.add(new PlayerSearchResult(playerName, uuid, tier));
             }
-        });
+        } catch (Exception parseError) {
+            CTLTierTagger.LOGGER.error("Error parsing search result: {}", parseError.getMessage());
+        }
+        
+        return players;
     }
 
     /**
@@ -129,12 +188,13 @@ public class TierListAPI {
             JsonObject profile = json.has("profile") ? json.getAsJsonObject("profile") : null;
             JsonObject ranks = json.has("ranks") ? json.getAsJsonObject("ranks") : null;
 
-            String region = profile != null && profile.has("region") ? profile.get("region").getAsString() : "Unknown";
+            String region = StringDictionary.REGIONS.intern(
+                profile != null && profile.has("region") ? profile.get("region").getAsString() : "Unknown");
             String uuid = profile != null && profile.has("uuid") ? profile.get("uuid").getAsString() : "";
             String avatar = profile != null && profile.has("avatar") ? profile.get("avatar").getAsString() : "";
             
             int totalPoints = json.has("totalPoints") ? json.get("totalPoints").getAsInt() : 0;
-            String title = json.has("title") ? json.get("title").getAsString() : "Unranked";
+            String title = StringDictionary.TITLES.intern(json.has("title") ? json.get("title").getAsString() : "Unranked");
             int overallRank = json.has("rank") ? json.get("rank").getAsInt() : 0;
             
             PlayerTierData tierData = new PlayerTierData(playerName, region, uuid, avatar, totalPoints, title, overallRank);
@@ -146,7 +206,7 @@ public class TierListAPI {
                     if (rankData.has("rank")) {
                         String rank = rankData.get("rank").getAsString();
                         boolean retired = rankData.has("retired") && rankData.get("retired").getAsBoolean();
-                        tierData.setTierForGamemode(normalizeGamemode(gamemode), rank, retired);
+                        tierData.setTierForGamemode(StringDictionary.GAMEMODES.intern(normalizeGamemode(gamemode)), rank, retired);
                     }
                 }
             }
@@ -161,7 +221,7 @@ public class TierListAPI {
     /**
      * Normalize gamemode names to match config names
      */
-    private static String normalizeGamemode(String gamemode) {
+    static String normalizeGamemode(String gamemode) {
         return switch (gamemode.toLowerCase()) {
             case "sword", "swd" -> "Sword";
             case "crystal", "cpvp" -> "Crystal";
@@ -176,23 +236,6 @@ public class TierListAPI {
         };
     }
 
-    /**
-     * Convert tier string to numeric value for comparison (lower is better)
-     */
-    private static int getTierValue(String tier) {
-        if (tier == null || tier.equals("Unranked")) return 999;
-        
-        // Extract tier number and type (HT/LT)
-        if (tier.startsWith("HT")) {
-            int num = Integer.parseInt(tier.substring(2));
-            return (num * 2) - 1; // HT1=1, HT2=3, HT3=5, etc.
-        } else if (tier.startsWith("LT")) {
-            int num = Integer.parseInt(tier.substring(2));
-            return num * 2; // LT1=2, LT2=4, LT3=6, etc.
-        }
-        return 999;
-    }
-
     /**
      * Data class to hold player tier information
      */
@@ -221,12 +264,16 @@ public class TierListAPI {
         }
 
         public void setTierForGamemode(String gamemode, String tier, boolean retired) {
-            gamemodeTiers.put(gamemode, new TierInfo(tier, retired));
+            setTierForGamemode(gamemode, Tier.of(tier, retired));
+        }
+
+        public void setTierForGamemode(String gamemode, Tier tier) {
+            gamemodeTiers.put(gamemode, new TierInfo(tier));
         }
 
-        public String getTierForGamemode(String gamemode) {
+        public Tier getTierForGamemode(String gamemode) {
             TierInfo info = gamemodeTiers.get(gamemode);
-            return info != null ? info.tier : "Unranked";
+            return info != null ? info.tier : Tier.UNRANKED;
         }
 
         public boolean isRetired(String gamemode) {
@@ -236,23 +283,19 @@ public class TierListAPI {
 
         public boolean hasTierForGamemode(String gamemode) {
             TierInfo info = gamemodeTiers.get(gamemode);
-            return info != null && !info.tier.equals("Unranked");
+            return info != null && info.tier.isRanked();
         }
         
         public Map<String, TierInfo> getAllTiers() {
             return gamemodeTiers;
         }
 
-        public String getHighestTier() {
-            String highestTier = "Unranked";
-            int highestTierValue = 999;
+        public Tier getHighestTier() {
+            Tier highestTier = Tier.UNRANKED;
             
-            for (Map.Entry<String, TierInfo> entry : gamemodeTiers.entrySet()) {
-                String tier = entry.getValue().tier;
-                int tierValue = TierListAPI.getTierValue(tier);
-                if (tierValue < highestTierValue) {
-                    highestTierValue = tierValue;
-                    highestTier = tier;
+            for (TierInfo info : gamemodeTiers.values()) {
+                if (info.tier.isBetterThan(highestTier)) {
+                    highestTier = info.tier;
                 }
             }
             
@@ -261,13 +304,12 @@ public class TierListAPI {
 
         public String getHighestTierGamemode() {
             String highestGamemode = null;
-            int highestTierValue = 999;
+            Tier highestTier = Tier.UNRANKED;
             
             for (Map.Entry<String, TierInfo> entry : gamemodeTiers.entrySet()) {
-                String tier = entry.getValue().tier;
-                int tierValue = TierListAPI.getTierValue(tier);
-                if (tierValue < highestTierValue) {
-                    highestTierValue = tierValue;
+                Tier tier = entry.getValue().tier;
+                if (tier.isBetterThan(highestTier)) {
+                    highestTier = tier;
                     highestGamemode = entry.getKey();
                 }
             }
@@ -290,17 +332,21 @@ public class TierListAPI {
      * Inner class to hold tier info with retired status
      */
     public static class TierInfo {
-        public final String tier;
+        public final Tier tier;
         public final boolean retired;
         
-        public TierInfo(String tier, boolean retired) {
+        public TierInfo(Tier tier) {
             this.tier = tier;
-            this.retired = retired;
+            this.retired = tier.isRetired();
+        }
+        
+        public TierInfo(String tier, boolean retired) {
+            this(Tier.of(tier, retired));
         }
         
         @Override
         public String toString() {
-            return tier + (retired ? " (Retired)" : "");
+            return tier.active() + (retired ? " (Retired)" : "");
         }
     }
 
@@ -310,9 +356,9 @@ public class TierListAPI {
     public static class PlayerSearchResult {
         public final String playerName;
         public final String uuid;
-        public final String tier;
+        public final Tier tier;
         
-        public PlayerSearchResult(String playerName, String uuid, String tier) {
+        public PlayerSearchResult(String playerName, String uuid, Tier tier) {
             this.playerName = playerName;
             this.uuid = uuid;
             this.tier = tier;
@@ -0,0 +1,64 @@
+package com.ctltierlist.tiertagger.api;
+
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Content negotiation for API responses. Requests advertise every registered binary
+ * decoder ahead of JSON; a server that does not know them simply answers with JSON,
+ * which callers then parse as before.
+ */
+public final class WireFormat {
+    private static final String JSON = "application/json";
+    private static final List<PlayerDecoder> DECODERS = new CopyOnWriteArrayList<>();
+
+    static {
+        register(new MessagePackPlayerDecoder());
+    }
+
+    private WireFormat() {
+    }
+
+    /**
+     * Add a decoder; earlier registrations are preferred
+     */
+    public static void register(PlayerDecoder decoder) {
+        DECODERS.add(decoder);
+    }
+
+    /**
+     * Accept header value listing the binary formats first and JSON as fallback
+     */
+    public static String acceptHeader() {
+        StringBuilder accept = new StringBuilder();
+        for (PlayerDecoder decoder : DECODERS) {
+            accept.append(decoder.mediaType()).append(", ");
+        }
+        return accept.append(JSON).append(";q=0.5").toString();
+    }
+
+    /**
+     * Decoder for a media type, or null if it is not a registered binary format
+     */
+    public static PlayerDecoder forMediaType(String mediaType) {
+        if (mediaType == null) {
+            return null;
+        }
+        String type = mediaType.split(";", 2)[0].trim().toLowerCase(Locale.ROOT);
+        for (PlayerDecoder decoder : DECODERS) {
+            if (decoder.mediaType().equals(type)) {
+                return decoder;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Decoder matching a response's Content-Type, or null if the body should be read as JSON
+     */
+    public static PlayerDecoder forResponse(HttpResponse<?> response) {
+        return forMediaType(response.headers().firstValue("Content-Type").orElse(null));
+    }
+}
@@ -0,0 +1,227 @@
+package com.ctltierlist.tiertagger.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Typo-tolerant name index built from bigram postings.
+ * Each edit removes at most three of a name's padded bigrams, so a name within edit distance k
+ * shares all but 3k of the query's distinct bigrams. Candidates are found by counting shared bigrams,
+ * filtered by length and then verified with a bounded edit distance (adjacent transpositions count as one edit).
+ * Queries too short for the bigram bound only scan the names of a matching length.
+ */
+final class FuzzyIndex {
+    private static final int[] EMPTY = new int[0];
+
+    // Lowercase names packed back to back, so verification never allocates Strings
+    private final byte[] names;
+    private final int[] nameOffsets;
+    private final Map<Long, int[]> postings;
+    // Ordinals sorted by name length; names of length n are byLength[lengthStarts[n], lengthStarts[n + 1])
+    private final int[] byLength;
+    private final int[] lengthStarts;
+    private final int maxLength;
+
+    FuzzyIndex(RecordStore store) {
+        int size = store.size();
+        this.nameOffsets = new int[size + 1];
+        byte[] packed = new byte[size * 12];
+        int position = 0;
+
+        int longest = 0;
+        Map<Long, List<Integer>> lists = new HashMap<>();
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            String lowerName = store.lowerName(ordinal);
+            byte[] bytes = lowerName.getBytes(StandardCharsets.UTF_8);
+            if (position + bytes.length > packed.length) {
+                packed = Arrays.copyOf(packed, Math.max(packed.length * 2, position + bytes.length));
+            }
+            System.arraycopy(bytes, 0, packed, position, bytes.length);
+            position += bytes.length;
+            nameOffsets[ordinal + 1] = position;
+            longest = Math.max(longest, bytes.length);
+
+            long previous = -1;
+            for (long gram : bigrams(lowerName)) {
+                // Skip a repeated bigram so each ordinal appears once per list
+                if (gram == previous) {
+                    continue;
+                }
+                List<Integer> list = lists.computeIfAbsent(gram, g -> new ArrayList<>());
+                if (list.isEmpty() || list.get(list.size() - 1) != ordinal) {
+                    list.add(ordinal);
+                }
+                previous = gram;
+            }
+        }
+
+        this.names = Arrays.copyOf(packed, position);
+        this.maxLength = longest;
+
+        // Counting sort by length keeps rank order within each length
+        this.lengthStarts = new int[longest + 2];
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            lengthStarts[length(ordinal) + 1]++;
+        }
+        for (int length = 1; length < lengthStarts.length; length++) {
+            lengthStarts[length] += lengthStarts[length - 1];
+        }
+        this.byLength = new int[size];
+        int[] next = Arrays.copyOf(lengthStarts, lengthStarts.length);
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            byLength[next[length(ordinal)]++] = ordinal;
+        }
+
+        this.postings = new HashMap<>(lists.size() * 2);
+        for (Map.Entry<Long, List<Integer>> entry : lists.entrySet()) {
+            List<Integer> list = entry.getValue();
+            int[] ordinals = new int[list.size()];
+            for (int i = 0; i < ordinals.length; i++) {
+                ordinals[i] = list.get(i);
+            }
+            postings.put(entry.getKey(), ordinals);
+        }
+    }
+
+    /**
+     * Find names within a small edit distance of the query
+     * @param lowerQuery Lowercase query
+     * @param limit Maximum number of ordinals to return
+     * @return Matching ordinals, closest first, ties broken by rank
+     */
+    int[] search(String lowerQuery, int limit) {
+        if (lowerQuery.isEmpty() || limit <= 0) {
+            return EMPTY;
+        }
+        int maxDistance = maxDistance(lowerQuery.length());
+        byte[] query = lowerQuery.getBytes(StandardCharsets.UTF_8);
+        int minLength = Math.max(0, query.length - maxDistance);
+        int maxLength = Math.min(this.maxLength, query.length + maxDistance);
+        if (minLength > maxLength) {
+            return EMPTY;
+        }
+        long[] grams = bigrams(lowerQuery);
+        int distinct = 0;
+        for (int i = 0; i < grams.length; i++) {
+            if (i == 0 || grams[i] != grams[i - 1]) {
+                grams[distinct++] = grams[i];
+            }
+        }
+        int minShared = distinct - 3 * maxDistance;
+
+        List<Integer> candidates = new ArrayList<>();
+        if (minShared < 1) {
+            // Too short for the bigram bound to filter anything; check every name of a close length
+            for (int i = lengthStarts[minLength]; i < lengthStarts[maxLength + 1]; i++) {
+                candidates.add(byLength[i]);
+            }
+        } else {
+            int[] shared = new int[nameOffsets.length - 1];
+            for (int i = 0; i < distinct; i++) {
+                for (int ordinal : postings.getOrDefault(grams[i], EMPTY)) {
+                    if (++shared[ordinal] == minShared) {
+                        int length = length(ordinal);
+                        if (length >= minLength && length <= maxLength) {
+                            candidates.add(ordinal);
+                        }
+                    }
+                }
+            }
+        }
+
+        // Verify candidates, keeping the best `limit` by (distance, ordinal)
+        long[] best = new long[limit];
+        int size = 0;
+        int[][] rows = new int[3][maxLength + 1];
+        for (int ordinal : candidates) {
+            int distance = distance(query, names, nameOffsets[ordinal], nameOffsets[ordinal + 1], maxDistance, rows);
+            if (distance > maxDistance) {
+                continue;
+            }
+            long key = ((long) distance << 32) | ordinal;
+            if (size == limit && key >= best[limit - 1]) {
+                continue;
+            }
+            int pos = size < limit ? size++ : limit - 1;
+            while (pos > 0 && best[pos - 1] > key) {
+                best[pos] = best[pos - 1];
+                pos--;
+            }
+            best[pos] = key;
+        }
+
+        int[] result = new int[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = (int) best[i];
+        }
+        return result;
+    }
+
+    /**
+     * Allowed edits for a query length: 1 for short names, 2 otherwise
+     */
+    private static int maxDistance(int length) {
+        return length <= 4 ? 1 : 2;
+    }
+
+    private int length(int ordinal) {
+        return nameOffsets[ordinal + 1] - nameOffsets[ordinal];
+    }
+
+    /**
+     * Padded bigrams ("$a", "ab", "b$") packed as two 16-bit chars, sorted
+     */
+    private static long[] bigrams(String s) {
+        String padded = "$" + s + "$";
+        long[] grams = new long[padded.length() - 1];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = ((long) padded.charAt(i) << 16) | padded.charAt(i + 1);
+        }
+        Arrays.sort(grams);
+        return grams;
+    }
+
+    /**
+     * Optimal string alignment distance between a query and names[from, to),
+     * giving up once it must exceed the bound
+     * @param rows Three scratch rows at least as long as the name plus one, reused across calls
+     * @return The distance, or bound + 1 if it is larger than bound
+     */
+    static int distance(byte[] a, byte[] names, int from, int to, int bound, int[][] rows) {
+        int bLength = to - from;
+        if (Math.abs(a.length - bLength) > bound) {
+            return bound + 1;
+        }
+        int[] prevPrev = rows[0];
+        int[] prev = rows[1];
+        int[] current = rows[2];
+        for (int j = 0; j <= bLength; j++) {
+            prev[j] = j;
+        }
+        for (int i = 1; i <= a.length; i++) {
+            current[0] = i;
+            int rowMin = i;
+            for (int j = 1; j <= bLength; j++) {
+                int cost = a[i - 1] == names[from + j - 1] ? 0 : 1;
+                int value = Math.min(Math.min(prev[j] + 1, current[j - 1] + 1), prev[j - 1] + cost);
+                if (i > 1 && j > 1 && a[i - 1] == names[from + j - 2] && a[i - 2] == names[from + j - 1]) {
+                    value = Math.min(value, prevPrev[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > bound) {
+                return bound + 1;
+            }
+            int[] recycled = prevPrev;
+            prevPrev = prev;
+            prev = current;
+            current = recycled;
+        }
+        return Math.min(prev[bLength], bound + 1);
+    }
+}
@@ -0,0 +1,265 @@
+package com.ctltierlist.tiertagger.cache;
+
+import com.ctltierlist.tiertagger.CTLTierTagger;
+import com.ctltierlist.tiertagger.api.StringDictionary;
+import com.ctltierlist.tiertagger.api.TierListAPI;
+import com.ctltierlist.tiertagger.config.ModConfig;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
+/**
+ * Turns a parsed leaderboard array into a snapshot on a dedicated fork/join pool.
+ * The array is split into chunks that are decoded in parallel, then the snapshot and its
+ * indexes are built inside the same pool. The pool's parallelism is capped by config so
+ * ingestion does not starve the game's own worker threads.
+ */
+final class LeaderboardIngest {
+    private static final int CHUNK_SIZE = 512;
+    // Streaming: first partial snapshot early for the very top players, then at most every PARTIAL_INTERVAL_MS
+    private static final int FIRST_PARTIAL_AT = 500;
+    private static final long PARTIAL_INTERVAL_MS = 250;
+
+    // Raw API gamemode key -> display name, filled once per distinct key
+    private static final Map<String, String> GAMEMODE_NAMES = new ConcurrentHashMap<>();
+
+    private static ForkJoinPool pool;
+    private static int poolParallelism;
+
+    private LeaderboardIngest() {
+    }
+
+    /**
+     * Decode every entry and build the snapshot. Blocks the calling thread until done.
+     */
+    static LeaderboardSnapshot ingest(JsonArray leaderboard) {
+        ForkJoinPool ingestPool = getPool();
+        long start = System.nanoTime();
+
+        Set<String> residentRegions = ModConfig.getResidentRegions();
+        TierListAPI.PlayerTierData[] decoded = new TierListAPI.PlayerTierData[leaderboard.size()];
+        ingestPool.invoke(new DecodeTask(leaderboard, decoded, 0, decoded.length, residentRegions));
+
+        // Merge chunk results, preserving leaderboard order
+        List<TierListAPI.PlayerTierData> entries = new ArrayList<>(decoded.length);
+        for (TierListAPI.PlayerTierData data : decoded) {
+            if (data != null) {
+                entries.add(data);
+            }
+        }
+
+        // Parallel streams inside the snapshot build run on this pool, not the common pool
+        LeaderboardSnapshot snapshot = ingestPool.submit(() -> new LeaderboardSnapshot(entries)).join();
+        CTLTierTagger.LOGGER.debug("Ingested {} players in {} ms with parallelism {}",
+            entries.size(), (System.nanoTime() - start) / 1_000_000, ingestPool.getParallelism());
+        return snapshot;
+    }
+
+    /**
+     * Build the snapshot from players a binary decoder already produced, dropping
+     * non-resident regions. Blocks the calling thread until done.
+     */
+    static LeaderboardSnapshot ingest(List<TierListAPI.PlayerTierData> players) {
+        Set<String> residentRegions = ModConfig.getResidentRegions();
+        List<TierListAPI.PlayerTierData> entries = new ArrayList<>(players.size());
+        for (TierListAPI.PlayerTierData player : players) {
+            if (residentRegions.isEmpty() || residentRegions.contains(player.region.toUpperCase(Locale.ROOT))) {
+                entries.add(player);
+            }
+        }
+        return getPool().submit(() -> new LeaderboardSnapshot(entries)).join();
+    }
+
+    /**
+     * Decode entries one by one as the response body streams in, handing a partial
+     * snapshot to the callback after the first few hundred entries or PARTIAL_INTERVAL_MS,
+     * whichever comes first, and then at most every PARTIAL_INTERVAL_MS. Partial snapshots
+     * are append-only views (one array copy each), so publishing stays linear overall.
+     * Blocks until the body is fully read.
+     * @return The complete snapshot
+     */
+    static LeaderboardSnapshot ingestStreaming(Reader body, Consumer<LeaderboardSnapshot> onPartial) throws IOException {
+        Set<String> residentRegions = ModConfig.getResidentRegions();
+        ForkJoinPool ingestPool = getPool();
+        List<TierListAPI.PlayerTierData> entries = new ArrayList<>();
+        // Entries arrive in rank order, so the first entry for a name is the best ranked one
+        List<TierListAPI.PlayerTierData> unique = new ArrayList<>();
+        Map<String, Integer> ordinals = new ConcurrentHashMap<>();
+        long lastPartial = System.nanoTime();
+        int published = 0;
+        int read = 0;
+
+        JsonReader reader = new JsonReader(body);
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (!reader.nextName().equals("leaderboard")) {
+                reader.skipValue();
+                continue;
+            }
+            reader.beginArray();
+            while (reader.hasNext()) {
+                try {
+                    TierListAPI.PlayerTierData data = decode(
+                        JsonParser.parseReader(reader).getAsJsonObject(), residentRegions);
+                    if (data != null) {
+                        entries.add(data);
+                        if (ordinals.putIfAbsent(data.playerName.toLowerCase(), unique.size()) == null) {
+                            unique.add(data);
+                        }
+                    }
+                } catch (RuntimeException e) {
+                    CTLTierTagger.LOGGER.warn("Skipping malformed leaderboard entry {}: {}", read, e.getMessage());
+                }
+                read++;
+                long now = System.nanoTime();
+                boolean due = published == 0 && unique.size() >= FIRST_PARTIAL_AT
+                    || (now - lastPartial) / 1_000_000 >= PARTIAL_INTERVAL_MS;
+                if (due && unique.size() > published) {
+                    onPartial.accept(ingestPool.submit(() -> LeaderboardSnapshot.partial(unique, ordinals)).join());
+                    published = unique.size();
+                    lastPartial = now;
+                }
+            }
+            reader.endArray();
+        }
+        reader.endObject();
+
+        return ingestPool.submit(() -> new LeaderboardSnapshot(entries)).join();
+    }
+
+    private static synchronized ForkJoinPool getPool() {
+        int parallelism = ModConfig.getIngestParallelism();
+        if (pool == null || poolParallelism != parallelism) {
+            if (pool != null) {
+                pool.shutdown();
+            }
+            pool = new ForkJoinPool(parallelism, p -> {
+                ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+                t.setName("CTL-TierTagger-Ingest-" + t.getPoolIndex());
+                t.setDaemon(true);
+                return t;
+            }, null, false);
+            poolParallelism = parallelism;
+        }
+        return pool;
+    }
+
+    static synchronized void shutdown() {
+        if (pool != null) {
+            pool.shutdown();
+            pool = null;
+        }
+    }
+
+    /**
+     * Decode one leaderboard entry, or null if its region is not resident
+     */
+    static TierListAPI.PlayerTierData decode(JsonObject player, Set<String> residentRegions) {
+        String ingameName = player.get("ingameName").getAsString();
+        String region = player.has("region") ? player.get("region").getAsString() : "Unknown";
+        if (!residentRegions.isEmpty() && !residentRegions.contains(region.toUpperCase(Locale.ROOT))) {
+            return null;
+        }
+        // Share one String instance per region and title across all players
+        region = StringDictionary.REGIONS.intern(region);
+        int totalPoints = player.has("totalPoints") ? player.get("totalPoints").getAsInt() : 0;
+        String title = StringDictionary.TITLES.intern(player.has("title") ? player.get("title").getAsString() : "Rookie");
+        int rank = player.has("rank") ? player.get("rank").getAsInt() : 0;
+
+        TierListAPI.PlayerTierData tierData = new TierListAPI.PlayerTierData(
+            ingameName, region, "", "", totalPoints, title, rank
+        );
+
+        // Parse ranks for each gamemode
+        if (player.has("ranks")) {
+            JsonObject ranks = player.getAsJsonObject("ranks");
+            for (String gamemode : ranks.keySet()) {
+                JsonObject rankData = ranks.getAsJsonObject(gamemode);
+                if (rankData.has("rank")) {
+                    String tierRank = rankData.get("rank").getAsString();
+                    boolean retired = rankData.has("retired") && rankData.get("retired").getAsBoolean();
+                    tierData.setTierForGamemode(normalizeGamemode(gamemode), tierRank, retired);
+                }
+            }
+        }
+        return tierData;
+    }
+
+    /**
+     * Display name for an API gamemode key. The handful of distinct keys are
+     * normalized once and then served from a map, as shared dictionary instances.
+     */
+    static String normalizeGamemode(String gamemode) {
+        String name = GAMEMODE_NAMES.get(gamemode);
+        if (name == null) {
+            name = switch (gamemode.toLowerCase(Locale.ROOT)) {
+                case "sword", "swd" -> "Sword";
+                case "crystal", "cpvp" -> "Crystal";
+                case "netherite", "nethpot" -> "Netherite";
+                case "pot", "potion" -> "Potion";
+                case "mace", "macepvp" -> "Mace";
+                case "uhc" -> "UHC";
+                case "axe", "axepvp" -> "Axe";
+                case "smp", "smpkit" -> "SMP";
+                case "diasmp" -> "DiaSMP";
+                default -> gamemode;
+            };
+            name = StringDictionary.GAMEMODES.intern(name);
+            GAMEMODE_NAMES.put(gamemode, name);
+        }
+        return name;
+    }
+
+    /**
+     * Splits [from, to) in halves until a chunk is small enough to decode directly
+     */
+    private static class DecodeTask extends RecursiveAction {
+        private final JsonArray leaderboard;
+        private final TierListAPI.PlayerTierData[] out;
+        private final int from;
+        private final int to;
+        private final Set<String> residentRegions;
+
+        DecodeTask(JsonArray leaderboard, TierListAPI.PlayerTierData[] out, int from, int to,
+                   Set<String> residentRegions) {
+            this.leaderboard = leaderboard;
+            this.out = out;
+            this.from = from;
+            this.to = to;
+            this.residentRegions = residentRegions;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= CHUNK_SIZE) {
+                for (int i = from; i < to; i++) {
+                    try {
+                        out[i] = decode(leaderboard.get(i).getAsJsonObject(), residentRegions);
+                    } catch (Exception e) {
+                        CTLTierTagger.LOGGER.warn("Skipping malformed leaderboard entry {}: {}", i, e.getMessage());
+                    }
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(
+                new DecodeTask(leaderboard, out, from, mid, residentRegions),
+                new DecodeTask(leaderboard, out, mid, to, residentRegions)
+            );
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package com.ctltierlist.tiertagger.cache;
+
+import com.ctltierlist.tiertagger.api.TierListAPI;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable view of one leaderboard download.
+ * Players are stored in rank order, so an ordinal doubles as a rank sort key.
+ * Player data lives in a compact RecordStore and is only turned into PlayerTierData
+ * objects for the players callers actually look up.
+ * OverallCache publishes a whole snapshot at once; readers never see a half-built one.
+ * While a leaderboard streams in, lightweight partial snapshots are published instead:
+ * a rank-ordered array with a name lookup and no indexes or stats.
+ */
+public final class LeaderboardSnapshot {
+    static final LeaderboardSnapshot EMPTY = new LeaderboardSnapshot(new ArrayList<>());
+
+    private final RecordStore store;
+    private final PrefixIndex prefixIndex;
+    private volatile FuzzyIndex fuzzyIndex;
+    private final Map<String, TierIndex> tierIndexes;
+
+    // Region views: sorted region names and member bits per store region code
+    private final String[] regionNames;
+    private final BitSet[] regionMembers;
+    private final TierStats stats;
+
+    // Partial snapshots only: players read so far, in rank order, and lower name -> ordinal.
+    // The map is shared with later partials and may hold ordinals past this snapshot's end.
+    private final TierListAPI.PlayerTierData[] partial;
+    private final Map<String, Integer> partialOrdinals;
+
+    LeaderboardSnapshot(List<TierListAPI.PlayerTierData> entries) {
+        this.partial = null;
+        this.partialOrdinals = null;
+        List<TierListAPI.PlayerTierData> sorted = new ArrayList<>(entries);
+        sorted.sort(Comparator.comparingInt(LeaderboardSnapshot::rankOrder));
+
+        Set<String> names = new HashSet<>(sorted.size() * 2);
+        List<TierListAPI.PlayerTierData> unique = new ArrayList<>(sorted.size());
+        for (TierListAPI.PlayerTierData data : sorted) {
+            // Duplicate names keep the better ranked entry
+            if (names.add(data.playerName.toLowerCase())) {
+                unique.add(data);
+            }
+        }
+
+        // The decoded objects are dropped after encoding; only the records stay resident
+        this.store = new RecordStore(unique.toArray(new TierListAPI.PlayerTierData[0]));
+        this.prefixIndex = new PrefixIndex(store);
+
+        // One independent index per gamemode; built in parallel on the caller's pool
+        this.tierIndexes = store.gamemodes().parallelStream()
+            .collect(Collectors.toMap(g -> g, g -> new TierIndex(g, store)));
+
+        List<String> regions = store.regions();
+        this.regionMembers = new BitSet[regions.size()];
+        for (int code = 0; code < regionMembers.length; code++) {
+            regionMembers[code] = new BitSet(store.size());
+        }
+        for (int i = 0; i < store.size(); i++) {
+            regionMembers[store.regionCode(i)].set(i);
+        }
+        this.regionNames = regions.toArray(new String[0]);
+        Arrays.sort(regionNames);
+
+        this.stats = new TierStats(store);
+    }
+
+    private LeaderboardSnapshot(TierListAPI.PlayerTierData[] ranked, Map<String, Integer> ordinals) {
+        this.partial = ranked;
+        this.partialOrdinals = ordinals;
+        this.store = null;
+        this.prefixIndex = null;
+        this.tierIndexes = Map.of();
+        this.regionNames = null;
+        this.regionMembers = null;
+        this.stats = EMPTY.stats;
+    }
+
+    /**
+     * Partial snapshot of a leaderboard still being downloaded. Costs one array copy;
+     * lookups by name, ordinal and prefix work, indexes and stats stay empty.
+     * @param ranked Unique players read so far, in rank order
+     * @param ordinals Append-only lower name -> ordinal map of the download
+     */
+    static LeaderboardSnapshot partial(List<TierListAPI.PlayerTierData> ranked, Map<String, Integer> ordinals) {
+        return new LeaderboardSnapshot(ranked.toArray(new TierListAPI.PlayerTierData[0]), ordinals);
+    }
+
+    /**
+     * Build the typo-tolerant index. Slower than the prefix index, so it is built
+     * in the background after the snapshot is published; fuzzy search returns
+     * nothing until it is ready.
+     */
+    void buildFuzzyIndex() {
+        if (fuzzyIndex == null && partial == null) {
+            fuzzyIndex = new FuzzyIndex(store);
+        }
+    }
+
+    /**
+     * False while this is a partial snapshot of a leaderboard still being downloaded
+     */
+    public boolean isComplete() {
+        return partial == null;
+    }
+
+    public boolean isFuzzyIndexReady() {
+        return fuzzyIndex != null;
+    }
+
+    /**
+     * Sort key for leaderboard rank; unranked (0) players go last
+     */
+    private static int rankOrder(TierListAPI.PlayerTierData data) {
+        return data.overallRank > 0 ? data.overallRank : Integer.MAX_VALUE;
+    }
+
+    public TierListAPI.PlayerTierData get(String lowerName) {
+        int ordinal = ordinalOf(lowerName);
+        if (ordinal < 0) {
+            return null;
+        }
+        return partial != null ? partial[ordinal] : store.materialize(ordinal);
+    }
+
+    public boolean contains(String lowerName) {
+        return ordinalOf(lowerName) >= 0;
+    }
+
+    /**
+     * Rank-ordered position of a player, or -1 if not in this snapshot
+     */
+    public int ordinalOf(String lowerName) {
+        if (partial != null) {
+            Integer ordinal = partialOrdinals.get(lowerName);
+            return ordinal != null && ordinal < partial.length ? ordinal : -1;
+        }
+        return store.find(lowerName);
+    }
+
+    /**
+     * Distinct regions of this snapshot, sorted
+     */
+    public List<String> getRegions() {
+        if (partial != null) {
+            Set<String> regions = new HashSet<>();
+            for (TierListAPI.PlayerTierData player : partial) {
+                regions.add(player.region);
+            }
+            List<String> sorted = new ArrayList<>(regions);
+            Collections.sort(sorted);
+            return Collections.unmodifiableList(sorted);
+        }
+        return Collections.unmodifiableList(Arrays.asList(regionNames));
+    }
+
+    public String regionOf(int ordinal) {
+        return partial != null ? partial[ordinal].region : store.region(ordinal);
+    }
+
+    /**
+     * Name of the player at an ordinal, without materializing the player
+     */
+    public String nameOf(int ordinal) {
+        return partial != null ? partial[ordinal].playerName : store.name(ordinal);
+    }
+
+    /**
+     * Ordinals of the players in a region, as a fresh set the caller may modify.
+     * Combine with and/or/andNot for multi-region views.
+     */
+    public BitSet getRegionMembers(String region) {
+        if (partial != null) {
+            BitSet members = new BitSet(partial.length);
+            for (int i = 0; i < partial.length; i++) {
+                if (partial[i].region.equals(region)) {
+                    members.set(i);
+                }
+            }
+            return members;
+        }
+        int code = store.regionCodeOf(region);
+        return code >= 0 ? (BitSet) regionMembers[code].clone() : new BitSet();
+    }
+
+    /**
+     * Number of players in a region
+     */
+    public int regionSize(String region) {
+        if (partial != null) {
+            return getRegionMembers(region).cardinality();
+        }
+        int code = store.regionCodeOf(region);
+        return code >= 0 ? regionMembers[code].cardinality() : 0;
+    }
+
+    /**
+     * Precomputed tier histograms and points quantiles
+     */
+    public TierStats getStats() {
+        return stats;
+    }
+
+    /**
+     * Tier index of a gamemode, or null if nobody is ranked in it
+     */
+    public TierIndex getTierIndex(String gamemode) {
+        return tierIndexes.get(gamemode);
+    }
+
+    /**
+     * Player at a rank-ordered position, 0 being the best ranked.
+     * Built from its record on first access.
+     */
+    public TierListAPI.PlayerTierData getByOrdinal(int ordinal) {
+        return partial != null ? partial[ordinal] : store.materialize(ordinal);
+    }
+
+    public int size() {
+        return partial != null ? partial.length : store.size();
+    }
+
+    /**
+     * Number of players currently materialized as objects
+     */
+    public int getMaterializedCount() {
+        return partial != null ? partial.length : store.getMaterializedCount();
+    }
+
+    /**
+     * Bytes held by the encoded player records
+     */
+    public long getEncodedBytes() {
+        return partial != null ? 0 : store.getEncodedBytes();
+    }
+
+    /**
+     * Players whose name starts with the prefix, best rank first
+     * @param limit Maximum number of results
+     */
+    public List<TierListAPI.PlayerTierData> searchByPrefix(String prefix, int limit) {
+        return searchByPrefix(prefix, limit, null);
+    }
+
+    /**
+     * Players of one region whose name starts with the prefix, best rank first
+     * @param region Region to search, or null for all regions
+     * @param limit Maximum number of results
+     */
+    public List<TierListAPI.PlayerTierData> searchByPrefix(String prefix, int limit, String region) {
+        List<TierListAPI.PlayerTierData> matches = new ArrayList<>();
+        if (prefix == null || prefix.isEmpty()) {
+            return matches;
+        }
+        if (partial != null) {
+            // No prefix index yet; a scan in rank order is already best rank first
+            String lowerPrefix = prefix.toLowerCase();
+            for (int i = 0; i < partial.length && matches.size() < limit; i++) {
+                TierListAPI.PlayerTierData player = partial[i];
+                if (player.playerName.toLowerCase().startsWith(lowerPrefix)
+                    && (region == null || player.region.equals(region))) {
+                    matches.add(player);
+                }
+            }
+            return matches;
+        }
+        BitSet allowed = null;
+        if (region != null) {
+            int code = store.regionCodeOf(region);
+            if (code < 0) {
+                return matches;
+            }
+            allowed = regionMembers[code];
+        }
+        for (int ordinal : prefixIndex.search(prefix.toLowerCase(), limit, allowed)) {
+            matches.add(store.materialize(ordinal));
+        }
+        return matches;
+    }
+
+    /**
+     * Players whose name is within a small edit distance of the query, closest first
+     * @param limit Maximum number of results
+     */
+    public List<TierListAPI.PlayerTierData> searchFuzzy(String query, int limit) {
+        List<TierListAPI.PlayerTierData> matches = new ArrayList<>();
+        FuzzyIndex index = fuzzyIndex;
+        if (index == null || query == null || query.isEmpty()) {
+            return matches;
+        }
+        for (int ordinal : index.search(query.toLowerCase(), limit)) {
+            matches.add(store.materialize(ordinal));
+        }
+        return matches;
+    }
+}
@@ -1,7 +1,13 @@
 package com.ctltierlist.tiertagger.cache;
 
 import com.ctltierlist.tiertagger.CTLTierTagger;
+import com.ctltierlist.tiertagger.api.PlayerDecoder;
+import com.ctltierlist.tiertagger.api.RequestScheduler;
+import com.ctltierlist.tiertagger.api.ResilientHttp;
+import com.ctltierlist.tiertagger.api.StringDictionary;
 import com.ctltierlist.tiertagger.api.TierListAPI;
+import com.ctltierlist.tiertagger.api.WireFormat;
+import com.ctltierlist.tiertagger.config.ModConfig;
 import com.google.gson.*;
 
 import java.io.*;
@@ -9,70 +15,101 @@ import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Duration;
-import java.util.Map;
+import java.util.List;
 import java.util.concurrent.*;
 
 public class OverallCache {
-    private static final String API_URL = "https://private-ctltierlist-api.vercel.app/rankings/overall";
+    private static final String LEADERBOARD_PATH = "/rankings/overall";
     private static final HttpClient HTTP_CLIENT = HttpClient.newBuilder()
             .connectTimeout(Duration.ofSeconds(30))
             .build();
     private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
     
-    private static final long REFRESH_INTERVAL_MS = 60 * 60 * 1000; // 1 hour
-    private static final Map<String, TierListAPI.PlayerTierData> playerCache = new ConcurrentHashMap<>();
+    private static volatile LeaderboardSnapshot snapshot = LeaderboardSnapshot.EMPTY;
     private static Path cacheFilePath;
+    // Binary responses are cached as [media type length u8][media type][body]
+    private static Path binaryCacheFilePath;
     private static ScheduledExecutorService scheduler;
+    private static RefreshScheduler refreshScheduler;
     private static volatile boolean initialized = false;
     private static volatile long lastRefreshTime = 0;
 
     public static void init(Path configDir) {
         cacheFilePath = configDir.resolve("ctl-tiertagger").resolve("cache.json");
+        binaryCacheFilePath = configDir.resolve("ctl-tiertagger").resolve("cache.bin");
         
         // Load from disk cache first (instant startup)
         loadFromDisk();
         
-        // Schedule hourly refresh with dedicated executor
+        // Refreshes run on a dedicated executor; timing is left to the adaptive scheduler
         scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
             Thread t = new Thread(r, "CTL-TierTagger-CacheRefresh");
             t.setDaemon(true);
             return t;
         });
-        
-        // Refresh from API immediately on startup (runs on our executor, not ForkJoinPool)
-        scheduler.execute(OverallCache::refreshFromAPI);
-        
-        // Schedule hourly refresh after initial delay
-        scheduler.scheduleAtFixedRate(
-            OverallCache::refreshFromAPI,
-            REFRESH_INTERVAL_MS,
-            REFRESH_INTERVAL_MS,
-            TimeUnit.MILLISECONDS
-        );
+        refreshScheduler = new RefreshScheduler(scheduler, OverallCache::fetchLeaderboard, () -> lastRefreshTime);
+        refreshScheduler.start(snapshot.size() > 0);
         
         initialized = true;
-        CTLTierTagger.LOGGER.info("OverallCache initialized with {} players from disk cache, API refresh started", playerCache.size());
+        CTLTierTagger.LOGGER.info("OverallCache initialized with {} players from disk cache, API refresh scheduled", snapshot.size());
     }
 
     public static TierListAPI.PlayerTierData getPlayer(String playerName) {
         if (playerName == null || playerName.isEmpty()) {
             return null;
         }
-        return playerCache.get(playerName.toLowerCase());
+        return snapshot.get(playerName.toLowerCase());
     }
 
     public static boolean hasPlayer(String playerName) {
         if (playerName == null || playerName.isEmpty()) {
             return false;
         }
-        return playerCache.containsKey(playerName.toLowerCase());
+        return snapshot.contains(playerName.toLowerCase());
+    }
+
+    /**
+     * Find cached players whose name starts with the given prefix, best rank first
+     * @param limit Maximum number of results
+     */
+    public static List<TierListAPI.PlayerTierData> searchByPrefix(String prefix, int limit) {
+        return snapshot.searchByPrefix(prefix, limit);
+    }
+
+    /**
+     * Find cached players whose name is a likely typo of the query, closest first.
+     * Empty until the fuzzy index of the current snapshot has been built.
+     * @param limit Maximum number of results
+     */
+    public static List<TierListAPI.PlayerTierData> searchFuzzy(String query, int limit) {
+        return snapshot.searchFuzzy(query, limit);
+    }
+
+    /**
+     * Current immutable leaderboard snapshot
+     */
+    public static LeaderboardSnapshot getSnapshot() {
+        return snapshot;
     }
 
     public static int getCacheSize() {
-        return playerCache.size();
+        return snapshot.size();
+    }
+
+    /**
+     * Heap accounting for the current snapshot: encoded record size, players held as
+     * objects, and the duplicate strings the shared dictionaries have dropped so far
+     */
+    public static String getHeapReport() {
+        LeaderboardSnapshot current = snapshot;
+        return String.format("%d players in %d KB encoded, %d materialized; %s",
+            current.size(), current.getEncodedBytes() / 1024, current.getMaterializedCount(),
+            StringDictionary.report());
     }
 
     public static boolean isInitialized() {
@@ -83,29 +120,138 @@ public class OverallCache {
         return lastRefreshTime;
     }
 
+    /**
+     * Called when the player joins a world; refreshes soon if the leaderboard is stale
+     */
+    public static void onWorldJoin() {
+        if (refreshScheduler != null) {
+            refreshScheduler.onWorldJoin();
+        }
+    }
+
+    /**
+     * Called when the player leaves to the title screen; pauses refreshes
+     */
+    public static void onWorldLeave() {
+        if (refreshScheduler != null) {
+            refreshScheduler.onWorldLeave();
+        }
+    }
+
+    /**
+     * Called on player input; scheduled refreshes are held while the player is idle
+     */
+    public static void onPlayerActivity() {
+        if (refreshScheduler != null) {
+            refreshScheduler.onActivity();
+        }
+    }
+
+    /**
+     * Refresh now on the calling thread, outside the normal schedule
+     */
     public static void refreshFromAPI() {
+        if (refreshScheduler != null) {
+            refreshScheduler.refreshNow();
+        } else {
+            fetchLeaderboard();
+        }
+    }
+
+    private static RefreshScheduler.Outcome fetchLeaderboard() {
         try {
             CTLTierTagger.LOGGER.info("Refreshing overall cache from API...");
             
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(API_URL))
-                    .timeout(Duration.ofSeconds(60))
-                    .GET()
-                    .build();
+            // Fails over between API hosts; no hedging, a duplicate download of the full board is not worth it.
+            // Queued behind player lookups, which may preempt it until the response starts
+            HttpResponse<InputStream> response = RequestScheduler.submit(RequestScheduler.Priority.BACKGROUND, () ->
+                    ResilientHttp.send(HTTP_CLIENT, "leaderboard",
+                            baseUrl -> HttpRequest.newBuilder()
+                                    .uri(URI.create(baseUrl + LEADERBOARD_PATH))
+                                    .timeout(Duration.ofSeconds(60))
+                                    .header("Accept", WireFormat.acceptHeader())
+                                    .GET()
+                                    .build(),
+                            HttpResponse.BodyHandlers.ofInputStream(), false)).join();
 
-            HttpResponse<String> response = HTTP_CLIENT.send(request, HttpResponse.BodyHandlers.ofString());
+            // Cold start: nothing to show yet, so publish players while the body streams in
+            if (snapshot.size() == 0) {
+                return refreshStreaming(response);
+            }
 
             if (response.statusCode() == 200) {
-                String json = response.body();
-                parseAndCacheLeaderboard(json);
-                saveToDisk(json);
+                byte[] body;
+                try (InputStream in = response.body()) {
+                    body = in.readAllBytes();
+                }
+                PlayerDecoder decoder = WireFormat.forResponse(response);
+                if (decoder != null) {
+                    decodeAndCacheLeaderboard(decoder, body);
+                    saveToDisk(decoder, body);
+                } else {
+                    String json = new String(body, StandardCharsets.UTF_8);
+                    parseAndCacheLeaderboard(json);
+                    saveToDisk(json);
+                }
                 lastRefreshTime = System.currentTimeMillis();
-                CTLTierTagger.LOGGER.info("Overall cache refreshed: {} players loaded", playerCache.size());
+                CTLTierTagger.LOGGER.info("Overall cache refreshed: {} players loaded", snapshot.size());
             } else {
+                response.body().close();
                 CTLTierTagger.LOGGER.warn("Failed to fetch overall rankings: HTTP {}", response.statusCode());
             }
+            return RefreshScheduler.Outcome.of(response);
         } catch (Exception e) {
             CTLTierTagger.LOGGER.error("Error refreshing overall cache: {}", e.getMessage());
+            return RefreshScheduler.Outcome.failure();
+        }
+    }
+
+    /**
+     * Download and ingest the leaderboard incrementally. Entries arrive in rank order,
+     * so partial snapshots make the top players' tags available long before the
+     * full response has been read.
+     */
+    private static RefreshScheduler.Outcome refreshStreaming(HttpResponse<InputStream> response) throws Exception {
+        if (response.statusCode() != 200) {
+            response.body().close();
+            CTLTierTagger.LOGGER.warn("Failed to fetch overall rankings: HTTP {}", response.statusCode());
+            return RefreshScheduler.Outcome.of(response);
+        }
+
+        // Binary bodies decode in one pass, so there is nothing to gain from partial snapshots
+        PlayerDecoder decoder = WireFormat.forResponse(response);
+        if (decoder != null) {
+            byte[] body;
+            try (InputStream in = response.body()) {
+                body = in.readAllBytes();
+            }
+            decodeAndCacheLeaderboard(decoder, body);
+            saveToDisk(decoder, body);
+            lastRefreshTime = System.currentTimeMillis();
+            CTLTierTagger.LOGGER.info("Overall cache refreshed: {} players loaded", snapshot.size());
+            return RefreshScheduler.Outcome.of(response);
+        }
+
+        // Keep a copy of the raw body for the disk cache
+        ByteArrayOutputStream raw = new ByteArrayOutputStream();
+        try (Reader reader = new InputStreamReader(new TeeInputStream(response.body(), raw), StandardCharsets.UTF_8)) {
+            LeaderboardSnapshot next = LeaderboardIngest.ingestStreaming(reader, partial -> {
+                snapshot = partial;
+                CTLTierTagger.LOGGER.debug("Published partial leaderboard: {} players", partial.size());
+            });
+            publish(next);
+        }
+        saveToDisk(raw.toString(StandardCharsets.UTF_8));
+        lastRefreshTime = System.currentTimeMillis();
+        CTLTierTagger.LOGGER.info("Overall cache streamed: {} players loaded", snapshot.size());
+        return RefreshScheduler.Outcome.of(response);
+    }
+
+    private static void publish(LeaderboardSnapshot next) {
+        snapshot = next;
+        CompletableFuture.runAsync(next::buildFuzzyIndex);
+        if (ModConfig.isDebugMode()) {
+            CTLTierTagger.LOGGER.info("Leaderboard heap: {}", getHeapReport());
         }
     }
 
@@ -114,77 +260,74 @@ public class OverallCache {
             JsonObject root = JsonParser.parseString(json).getAsJsonObject();
             JsonArray leaderboard = root.getAsJsonArray("leaderboard");
             
-            Map<String, TierListAPI.PlayerTierData> newCache = new ConcurrentHashMap<>();
-            
-            for (JsonElement element : leaderboard) {
-                JsonObject player = element.getAsJsonObject();
-                
-                String ingameName = player.get("ingameName").getAsString();
-                String region = player.has("region") ? player.get("region").getAsString() : "Unknown";
-                int totalPoints = player.has("totalPoints") ? player.get("totalPoints").getAsInt() : 0;
-                String title = player.has("title") ? player.get("title").getAsString() : "Rookie";
-                int rank = player.has("rank") ? player.get("rank").getAsInt() : 0;
-                
-                TierListAPI.PlayerTierData tierData = new TierListAPI.PlayerTierData(
-                    ingameName, region, "", "", totalPoints, title, rank
-                );
-                
-                // Parse ranks for each gamemode
-                if (player.has("ranks")) {
-                    JsonObject ranks = player.getAsJsonObject("ranks");
-                    for (String gamemode : ranks.keySet()) {
-                        JsonObject rankData = ranks.getAsJsonObject(gamemode);
-                        if (rankData.has("rank")) {
-                            String tierRank = rankData.get("rank").getAsString();
-                            boolean retired = rankData.has("retired") && rankData.get("retired").getAsBoolean();
-                            tierData.setTierForGamemode(normalizeGamemode(gamemode), tierRank, retired);
-                        }
-                    }
-                }
-                
-                newCache.put(ingameName.toLowerCase(), tierData);
-            }
-            
-            // Atomic swap
-            playerCache.clear();
-            playerCache.putAll(newCache);
+            // Decode and index in parallel off to the side, then publish in one write
+            publish(LeaderboardIngest.ingest(leaderboard));
             
         } catch (Exception e) {
             CTLTierTagger.LOGGER.error("Error parsing leaderboard JSON: {}", e.getMessage());
         }
     }
 
-    private static String normalizeGamemode(String gamemode) {
-        return switch (gamemode.toLowerCase()) {
-            case "sword", "swd" -> "Sword";
-            case "crystal", "cpvp" -> "Crystal";
-            case "netherite", "nethpot" -> "Netherite";
-            case "pot", "potion" -> "Potion";
-            case "mace", "macepvp" -> "Mace";
-            case "uhc" -> "UHC";
-            case "axe", "axepvp" -> "Axe";
-            case "smp", "smpkit" -> "SMP";
-            case "diasmp" -> "DiaSMP";
-            default -> gamemode;
-        };
+    private static void decodeAndCacheLeaderboard(PlayerDecoder decoder, byte[] body) {
+        try {
+            long start = System.nanoTime();
+            publish(LeaderboardIngest.ingest(decoder.decode(ByteBuffer.wrap(body))));
+            CTLTierTagger.LOGGER.debug("Decoded {} leaderboard in {} ms",
+                decoder.mediaType(), (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            CTLTierTagger.LOGGER.error("Error decoding leaderboard ({}): {}", decoder.mediaType(), e.getMessage());
+        }
     }
 
     private static void saveToDisk(String json) {
         try {
             Files.createDirectories(cacheFilePath.getParent());
             Files.writeString(cacheFilePath, json);
+            Files.deleteIfExists(binaryCacheFilePath);
             CTLTierTagger.LOGGER.debug("Cache saved to disk: {}", cacheFilePath);
         } catch (Exception e) {
             CTLTierTagger.LOGGER.error("Failed to save cache to disk: {}", e.getMessage());
         }
     }
 
+    private static void saveToDisk(PlayerDecoder decoder, byte[] body) {
+        try {
+            byte[] mediaType = decoder.mediaType().getBytes(StandardCharsets.US_ASCII);
+            Files.createDirectories(binaryCacheFilePath.getParent());
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(binaryCacheFilePath))) {
+                out.write(mediaType.length);
+                out.write(mediaType);
+                out.write(body);
+            }
+            Files.deleteIfExists(cacheFilePath);
+            CTLTierTagger.LOGGER.debug("Cache saved to disk: {}", binaryCacheFilePath);
+        } catch (Exception e) {
+            CTLTierTagger.LOGGER.error("Failed to save cache to disk: {}", e.getMessage());
+        }
+    }
+
     private static void loadFromDisk() {
         try {
+            if (Files.exists(binaryCacheFilePath)) {
+                byte[] file = Files.readAllBytes(binaryCacheFilePath);
+                int typeLength = file.length > 0 ? file[0] & 0xFF : 0;
+                String mediaType = new String(file, 1, Math.min(typeLength, file.length - 1), StandardCharsets.US_ASCII);
+                PlayerDecoder decoder = WireFormat.forMediaType(mediaType);
+                if (decoder != null) {
+                    int offset = 1 + typeLength;
+                    publish(LeaderboardIngest.ingest(decoder.decode(ByteBuffer.wrap(file, offset, file.length - offset))));
+                    lastRefreshTime = Files.getLastModifiedTime(binaryCacheFilePath).toMillis();
+                    CTLTierTagger.LOGGER.info("Loaded {} players from disk cache", snapshot.size());
+                    return;
+                }
+                CTLTierTagger.LOGGER.warn("Ignoring disk cache in unknown format {}", mediaType);
+            }
             if (Files.exists(cacheFilePath)) {
                 String json = Files.readString(cacheFilePath);
                 parseAndCacheLeaderboard(json);
-                CTLTierTagger.LOGGER.info("Loaded {} players from disk cache", playerCache.size());
+                // The file's age tells the scheduler whether it is already stale
+                lastRefreshTime = Files.getLastModifiedTime(cacheFilePath).toMillis();
+                CTLTierTagger.LOGGER.info("Loaded {} players from disk cache", snapshot.size());
             }
         } catch (Exception e) {
             CTLTierTagger.LOGGER.warn("Failed to load cache from disk: {}", e.getMessage());
@@ -195,6 +338,37 @@ public class OverallCache {
         if (scheduler != null && !scheduler.isShutdown()) {
             scheduler.shutdown();
         }
+        LeaderboardIngest.shutdown();
+    }
+
+    /**
+     * Copies everything read from the wrapped stream into a buffer
+     */
+    private static class TeeInputStream extends FilterInputStream {
+        private final OutputStream copy;
+
+        TeeInputStream(InputStream in, OutputStream copy) {
+            super(in);
+            this.copy = copy;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                copy.write(b);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                copy.write(buffer, offset, n);
+            }
+            return n;
+        }
     }
 
     public static void forceRefresh() {
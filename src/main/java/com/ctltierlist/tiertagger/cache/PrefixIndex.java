@@ -0,0 +1,92 @@
+package com.ctltierlist.tiertagger.cache;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+
+/**
+ * Sorted-array prefix index over lowercase player names.
+ * Names matching a prefix form one contiguous range found by two binary searches;
+ * the best K ordinals (lowest = best rank) are then selected from that range.
+ * Only the sorted ordinals are kept; names are read back from the record store.
+ */
+final class PrefixIndex {
+    private final RecordStore store;
+    private final int[] ordinals;
+
+    PrefixIndex(RecordStore store) {
+        this.store = store;
+        String[] names = new String[store.size()];
+        Integer[] order = new Integer[names.length];
+        for (int i = 0; i < order.length; i++) {
+            names[i] = store.lowerName(i);
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparing(i -> names[i]));
+
+        this.ordinals = new int[names.length];
+        for (int i = 0; i < order.length; i++) {
+            ordinals[i] = order[i];
+        }
+    }
+
+    /**
+     * Find the best ranked ordinals whose name starts with the prefix
+     * @param lowerPrefix Lowercase prefix
+     * @param limit Maximum number of ordinals to return
+     * @param allowed Ordinals that may match, or null for all
+     * @return Matching ordinals in ascending (rank) order
+     */
+    int[] search(String lowerPrefix, int limit, BitSet allowed) {
+        int from = lowerBound(lowerPrefix);
+        int to = lowerBound(lowerPrefix + Character.MAX_VALUE);
+        int count = to - from;
+        if (count <= 0 || limit <= 0) {
+            return new int[0];
+        }
+
+        if (count <= limit && allowed == null) {
+            int[] result = Arrays.copyOfRange(ordinals, from, to);
+            Arrays.sort(result);
+            return result;
+        }
+
+        // Keep the K smallest ordinals in a sorted buffer
+        int[] best = new int[limit];
+        int size = 0;
+        for (int i = from; i < to; i++) {
+            int ordinal = ordinals[i];
+            if (allowed != null && !allowed.get(ordinal)) {
+                continue;
+            }
+            if (size == limit && ordinal >= best[limit - 1]) {
+                continue;
+            }
+            int pos = size < limit ? size++ : limit - 1;
+            while (pos > 0 && best[pos - 1] > ordinal) {
+                best[pos] = best[pos - 1];
+                pos--;
+            }
+            best[pos] = ordinal;
+        }
+        return size == limit ? best : Arrays.copyOf(best, size);
+    }
+
+    int size() {
+        return ordinals.length;
+    }
+
+    private int lowerBound(String key) {
+        int lo = 0;
+        int hi = ordinals.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (store.lowerName(ordinals[mid]).compareTo(key) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+}
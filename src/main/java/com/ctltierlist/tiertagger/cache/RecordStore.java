@@ -0,0 +1,322 @@
+package com.ctltierlist.tiertagger.cache;
+
+import com.ctltierlist.tiertagger.api.StringDictionary;
+import com.ctltierlist.tiertagger.api.Tier;
+import com.ctltierlist.tiertagger.api.TierListAPI;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact storage for the players of one snapshot.
+ * Each player is an encoded record in one shared byte array; region, title and gamemode
+ * strings are stored as codes of the shared {@link StringDictionary} instances, so records
+ * and materialized players reuse the same canonical strings. Indexes read fields straight from the records,
+ * and a PlayerTierData is only built when a caller actually asks for one, then kept in a
+ * small LRU so heap use follows the players a client really sees.
+ *
+ * Record layout:
+ * [name length u8][name UTF-8][region u16][title u16][points i32][rank i32][tier count u8]
+ * then per tier: [gamemode u16][tier u8: index | 0x80 if retired]
+ *
+ * Regions and gamemodes present in this store also get dense local codes, which the
+ * indexes and statistics use to size their arrays.
+ */
+final class RecordStore {
+    private static final int MATERIALIZED_CACHE_SIZE = 1024;
+    private static final int RETIRED_FLAG = 0x80;
+
+    private final byte[] data;
+    private final int[] offsets;
+
+    // Values present in this store, in local code order
+    private final List<String> regions = new ArrayList<>();
+    private final List<String> gamemodes = new ArrayList<>();
+    // Shared code -> local region code, and local gamemode code -> shared code
+    private final int[] regionLocalCodes;
+    private final int[] gamemodeSharedCodes;
+
+    // Open-addressing name lookup: slots hold ordinal + 1, 0 = empty
+    private final int[] nameHashes;
+    private final int[] hashTable;
+
+    private final LinkedHashMap<Integer, TierListAPI.PlayerTierData> materialized =
+        new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, TierListAPI.PlayerTierData> eldest) {
+                return size() > MATERIALIZED_CACHE_SIZE;
+            }
+        };
+
+    /**
+     * Encode players; their array position becomes their ordinal.
+     * Names must be unique ignoring case.
+     */
+    RecordStore(TierListAPI.PlayerTierData[] players) {
+        this.offsets = new int[players.length];
+        this.nameHashes = new int[players.length];
+        this.hashTable = new int[tableSize(players.length)];
+
+        Map<Integer, Integer> regionLocal = new HashMap<>();
+        Map<Integer, Integer> gamemodeLocal = new HashMap<>();
+        byte[] buffer = new byte[Math.max(64, players.length * 32)];
+        int position = 0;
+        for (int ordinal = 0; ordinal < players.length; ordinal++) {
+            TierListAPI.PlayerTierData player = players[ordinal];
+            byte[] name = player.playerName.getBytes(StandardCharsets.UTF_8);
+            int nameLength = Math.min(name.length, 255);
+            List<Map.Entry<String, TierListAPI.TierInfo>> tiers = new ArrayList<>();
+            for (Map.Entry<String, TierListAPI.TierInfo> entry : player.getAllTiers().entrySet()) {
+                if (entry.getValue().tier.isRanked() && tiers.size() < 255) {
+                    tiers.add(entry);
+                }
+            }
+
+            int recordLength = 1 + nameLength + 2 + 2 + 4 + 4 + 1 + tiers.size() * 3;
+            if (position + recordLength > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + recordLength));
+            }
+
+            offsets[ordinal] = position;
+            buffer[position++] = (byte) nameLength;
+            System.arraycopy(name, 0, buffer, position, nameLength);
+            position += nameLength;
+            int region = code(StringDictionary.REGIONS, player.region);
+            if (regionLocal.putIfAbsent(region, regions.size()) == null) {
+                regions.add(StringDictionary.REGIONS.get(region));
+            }
+            position = putShort(buffer, position, region);
+            position = putShort(buffer, position, code(StringDictionary.TITLES, player.title));
+            position = putInt(buffer, position, player.totalPoints);
+            position = putInt(buffer, position, player.overallRank);
+            buffer[position++] = (byte) tiers.size();
+            for (Map.Entry<String, TierListAPI.TierInfo> entry : tiers) {
+                Tier tier = entry.getValue().tier;
+                int gamemode = code(StringDictionary.GAMEMODES, entry.getKey());
+                if (gamemodeLocal.putIfAbsent(gamemode, gamemodes.size()) == null) {
+                    gamemodes.add(StringDictionary.GAMEMODES.get(gamemode));
+                }
+                position = putShort(buffer, position, gamemode);
+                buffer[position++] = (byte) (tier.index() | (tier.isRetired() ? RETIRED_FLAG : 0));
+            }
+
+            String lowerName = player.playerName.toLowerCase();
+            nameHashes[ordinal] = lowerName.hashCode();
+            insert(ordinal);
+        }
+        this.data = Arrays.copyOf(buffer, position);
+
+        this.regionLocalCodes = new int[StringDictionary.REGIONS.size()];
+        Arrays.fill(regionLocalCodes, -1);
+        regionLocal.forEach((shared, local) -> regionLocalCodes[shared] = local);
+        this.gamemodeSharedCodes = new int[gamemodes.size()];
+        gamemodeLocal.forEach((shared, local) -> gamemodeSharedCodes[local] = shared);
+    }
+
+    private static int tableSize(int entries) {
+        int size = 16;
+        while (size < entries * 2) {
+            size <<= 1;
+        }
+        return size;
+    }
+
+    private static int code(StringDictionary dictionary, String value) {
+        int code = dictionary.code(value);
+        if (code < 0) {
+            throw new IllegalStateException("Dictionary overflow");
+        }
+        return code;
+    }
+
+    private static int putShort(byte[] buffer, int position, int value) {
+        buffer[position] = (byte) (value >>> 8);
+        buffer[position + 1] = (byte) value;
+        return position + 2;
+    }
+
+    private static int putInt(byte[] buffer, int position, int value) {
+        buffer[position] = (byte) (value >>> 24);
+        buffer[position + 1] = (byte) (value >>> 16);
+        buffer[position + 2] = (byte) (value >>> 8);
+        buffer[position + 3] = (byte) value;
+        return position + 4;
+    }
+
+    private int getShort(int position) {
+        return ((data[position] & 0xFF) << 8) | (data[position + 1] & 0xFF);
+    }
+
+    private int getInt(int position) {
+        return ((data[position] & 0xFF) << 24) | ((data[position + 1] & 0xFF) << 16)
+            | ((data[position + 2] & 0xFF) << 8) | (data[position + 3] & 0xFF);
+    }
+
+    private static int mix(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private void insert(int ordinal) {
+        int mask = hashTable.length - 1;
+        int slot = mix(nameHashes[ordinal]) & mask;
+        while (hashTable[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        hashTable[slot] = ordinal + 1;
+    }
+
+    /**
+     * Offset of the fixed fields that follow the name
+     */
+    private int fieldsOffset(int ordinal) {
+        int offset = offsets[ordinal];
+        return offset + 1 + (data[offset] & 0xFF);
+    }
+
+    int size() {
+        return offsets.length;
+    }
+
+    /**
+     * Ordinal of a lowercase name, or -1
+     */
+    int find(String lowerName) {
+        int hash = lowerName.hashCode();
+        int mask = hashTable.length - 1;
+        int slot = mix(hash) & mask;
+        while (hashTable[slot] != 0) {
+            int ordinal = hashTable[slot] - 1;
+            if (nameHashes[ordinal] == hash && lowerName(ordinal).equals(lowerName)) {
+                return ordinal;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    String name(int ordinal) {
+        int offset = offsets[ordinal];
+        return new String(data, offset + 1, data[offset] & 0xFF, StandardCharsets.UTF_8);
+    }
+
+    String lowerName(int ordinal) {
+        return name(ordinal).toLowerCase();
+    }
+
+    /**
+     * Local region code of a player
+     */
+    int regionCode(int ordinal) {
+        return regionLocalCodes[getShort(fieldsOffset(ordinal))];
+    }
+
+    String region(int ordinal) {
+        return StringDictionary.REGIONS.get(getShort(fieldsOffset(ordinal)));
+    }
+
+    String title(int ordinal) {
+        return StringDictionary.TITLES.get(getShort(fieldsOffset(ordinal) + 2));
+    }
+
+    int points(int ordinal) {
+        return getInt(fieldsOffset(ordinal) + 4);
+    }
+
+    int rank(int ordinal) {
+        return getInt(fieldsOffset(ordinal) + 8);
+    }
+
+    /**
+     * Tier of a player in a gamemode, given by local code, read from the record
+     * without materializing it
+     */
+    Tier tier(int ordinal, int gamemodeCode) {
+        int shared = gamemodeSharedCodes[gamemodeCode];
+        int position = fieldsOffset(ordinal) + 12;
+        int count = data[position++] & 0xFF;
+        for (int i = 0; i < count; i++, position += 3) {
+            if (getShort(position) == shared) {
+                int encoded = data[position + 2] & 0xFF;
+                return Tier.byIndex(encoded & ~RETIRED_FLAG, (encoded & RETIRED_FLAG) != 0);
+            }
+        }
+        return Tier.UNRANKED;
+    }
+
+    /**
+     * Local code of a gamemode, or -1 if no player is ranked in it
+     */
+    int gamemodeCode(String gamemode) {
+        int shared = StringDictionary.GAMEMODES.find(gamemode);
+        for (int local = 0; local < gamemodeSharedCodes.length; local++) {
+            if (gamemodeSharedCodes[local] == shared) {
+                return local;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Local code of a region, or -1 if no player is from it
+     */
+    int regionCodeOf(String region) {
+        int shared = StringDictionary.REGIONS.find(region);
+        return shared >= 0 && shared < regionLocalCodes.length ? regionLocalCodes[shared] : -1;
+    }
+
+    List<String> gamemodes() {
+        return Collections.unmodifiableList(gamemodes);
+    }
+
+    List<String> regions() {
+        return Collections.unmodifiableList(regions);
+    }
+
+    /**
+     * Object view of a record, built on first access and kept in a bounded LRU
+     */
+    TierListAPI.PlayerTierData materialize(int ordinal) {
+        synchronized (materialized) {
+            TierListAPI.PlayerTierData cached = materialized.get(ordinal);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        TierListAPI.PlayerTierData player = new TierListAPI.PlayerTierData(
+            name(ordinal), region(ordinal), "", "", points(ordinal), title(ordinal), rank(ordinal)
+        );
+        int position = fieldsOffset(ordinal) + 12;
+        int count = data[position++] & 0xFF;
+        for (int i = 0; i < count; i++, position += 3) {
+            int encoded = data[position + 2] & 0xFF;
+            player.setTierForGamemode(StringDictionary.GAMEMODES.get(getShort(position)),
+                Tier.byIndex(encoded & ~RETIRED_FLAG, (encoded & RETIRED_FLAG) != 0));
+        }
+
+        synchronized (materialized) {
+            TierListAPI.PlayerTierData raced = materialized.putIfAbsent(ordinal, player);
+            return raced != null ? raced : player;
+        }
+    }
+
+    int getMaterializedCount() {
+        synchronized (materialized) {
+            return materialized.size();
+        }
+    }
+
+    /**
+     * Bytes held by the encoded records and their lookup arrays
+     */
+    long getEncodedBytes() {
+        return data.length + 4L * (offsets.length + nameHashes.length + hashTable.length
+            + regionLocalCodes.length + gamemodeSharedCodes.length);
+    }
+}
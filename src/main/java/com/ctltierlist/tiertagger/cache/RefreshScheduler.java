@@ -0,0 +1,255 @@
+package com.ctltierlist.tiertagger.cache;
+
+import com.ctltierlist.tiertagger.CTLTierTagger;
+
+import java.net.http.HttpResponse;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Decides when the leaderboard is refreshed.
+ * Intervals are jittered so clients started together drift apart, failures back off
+ * exponentially, and the server's Retry-After and Cache-Control max-age override the
+ * defaults. Refreshes only run while a world is loaded and the player is not idle;
+ * a refresh that comes due while paused runs shortly after the player is back.
+ */
+final class RefreshScheduler {
+    private static final long BASE_INTERVAL_MS = TimeUnit.HOURS.toMillis(1);
+    private static final long MIN_INTERVAL_MS = TimeUnit.MINUTES.toMillis(5);
+    private static final long MAX_INTERVAL_MS = TimeUnit.HOURS.toMillis(6);
+    private static final long FIRST_BACKOFF_MS = TimeUnit.SECONDS.toMillis(30);
+    private static final long MAX_BACKOFF_MS = TimeUnit.HOURS.toMillis(1);
+    private static final long MAX_RETRY_AFTER_MS = TimeUnit.HOURS.toMillis(6);
+    private static final double INTERVAL_JITTER = 0.1;
+    // Delay before a deferred refresh runs once the player is back, before jitter
+    private static final long RESUME_DELAY_MS = TimeUnit.SECONDS.toMillis(5);
+    private static final long RESUME_JITTER_MS = TimeUnit.SECONDS.toMillis(15);
+    private static final long IDLE_AFTER_MS = TimeUnit.MINUTES.toMillis(10);
+
+    private final ScheduledExecutorService executor;
+    private final Supplier<Outcome> refresh;
+    private final LongSupplier lastRefreshTime;
+
+    private ScheduledFuture<?> pending;
+    private long dueAt;
+    private int failures;
+    private boolean deferred;
+    private boolean inWorld;
+    private volatile long lastActivity = System.currentTimeMillis();
+
+    /**
+     * @param refresh Performs one refresh and reports how it went
+     * @param lastRefreshTime Wall time of the data currently held, 0 if none
+     */
+    RefreshScheduler(ScheduledExecutorService executor, Supplier<Outcome> refresh, LongSupplier lastRefreshTime) {
+        this.executor = executor;
+        this.refresh = refresh;
+        this.lastRefreshTime = lastRefreshTime;
+    }
+
+    /**
+     * Schedule the first refresh. With no data at all it runs right away, even from the
+     * title screen; otherwise it waits until the held data is stale and a world is loaded.
+     */
+    synchronized void start(boolean haveData) {
+        long last = lastRefreshTime.getAsLong();
+        if (!haveData) {
+            schedule(jitter(0, RESUME_DELAY_MS), true);
+        } else {
+            dueAt = last + jittered(BASE_INTERVAL_MS);
+            deferred = true;
+        }
+    }
+
+    /**
+     * The player joined a world: run a refresh soon if the data is stale
+     */
+    synchronized void onWorldJoin() {
+        inWorld = true;
+        lastActivity = System.currentTimeMillis();
+        resume();
+    }
+
+    /**
+     * The player left to the title screen: hold refreshes until the next join
+     */
+    synchronized void onWorldLeave() {
+        inWorld = false;
+        if (pending != null && pending.cancel(false)) {
+            pending = null;
+            deferred = true;
+        }
+    }
+
+    /**
+     * Input from the player; ends an idle pause
+     */
+    void onActivity() {
+        long now = System.currentTimeMillis();
+        boolean wasIdle = now - lastActivity > IDLE_AFTER_MS;
+        lastActivity = now;
+        if (wasIdle) {
+            synchronized (this) {
+                resume();
+            }
+        }
+    }
+
+    /**
+     * Refresh on the calling thread regardless of state, then reschedule from the outcome
+     */
+    void refreshNow() {
+        synchronized (this) {
+            if (pending != null) {
+                pending.cancel(false);
+                pending = null;
+            }
+        }
+        run(true);
+    }
+
+    private void resume() {
+        if (!deferred || !inWorld) {
+            return;
+        }
+        deferred = false;
+        long delay = Math.max(0, dueAt - System.currentTimeMillis());
+        // Many clients join right after a server restart; spread their catch-up refreshes
+        schedule(Math.max(delay, jitter(RESUME_DELAY_MS, RESUME_JITTER_MS)), false);
+    }
+
+    private void schedule(long delayMs, boolean force) {
+        if (pending != null) {
+            pending.cancel(false);
+        }
+        dueAt = System.currentTimeMillis() + delayMs;
+        pending = executor.schedule(() -> run(force), delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void run(boolean force) {
+        synchronized (this) {
+            pending = null;
+            boolean idle = System.currentTimeMillis() - lastActivity > IDLE_AFTER_MS;
+            if (!force && (!inWorld || idle)) {
+                CTLTierTagger.LOGGER.debug("Leaderboard refresh deferred ({})", inWorld ? "idle" : "no world");
+                deferred = true;
+                return;
+            }
+        }
+
+        Outcome outcome;
+        try {
+            outcome = refresh.get();
+        } catch (RuntimeException e) {
+            CTLTierTagger.LOGGER.error("Error refreshing overall cache: {}", e.getMessage());
+            outcome = Outcome.failure();
+        }
+
+        synchronized (this) {
+            long delay = nextDelay(outcome);
+            CTLTierTagger.LOGGER.debug("Next leaderboard refresh in {} s", delay / 1000);
+            if (inWorld) {
+                schedule(delay, false);
+            } else {
+                // Leave it to the next join
+                dueAt = System.currentTimeMillis() + delay;
+                deferred = true;
+            }
+        }
+    }
+
+    private long nextDelay(Outcome outcome) {
+        if (outcome.success) {
+            failures = 0;
+            long interval = outcome.maxAgeMs > 0
+                ? Math.max(MIN_INTERVAL_MS, Math.min(MAX_INTERVAL_MS, outcome.maxAgeMs))
+                : BASE_INTERVAL_MS;
+            return jittered(interval);
+        }
+
+        failures++;
+        long backoff = FIRST_BACKOFF_MS << Math.min(failures - 1, 16);
+        backoff = Math.min(MAX_BACKOFF_MS, backoff);
+        // Full jitter over the upper half keeps retries from lining up
+        long delay = jitter(backoff / 2, backoff / 2);
+        if (outcome.retryAfterMs > 0) {
+            delay = Math.max(delay, Math.min(MAX_RETRY_AFTER_MS, outcome.retryAfterMs));
+        }
+        return delay;
+    }
+
+    private static long jittered(long interval) {
+        long spread = (long) (interval * INTERVAL_JITTER);
+        return jitter(interval - spread, 2 * spread);
+    }
+
+    private static long jitter(long base, long spread) {
+        return base + (spread > 0 ? ThreadLocalRandom.current().nextLong(spread + 1) : 0);
+    }
+
+    /**
+     * Result of one refresh attempt, with the server's caching hints
+     */
+    static final class Outcome {
+        final boolean success;
+        final long retryAfterMs;
+        final long maxAgeMs;
+
+        private Outcome(boolean success, long retryAfterMs, long maxAgeMs) {
+            this.success = success;
+            this.retryAfterMs = retryAfterMs;
+            this.maxAgeMs = maxAgeMs;
+        }
+
+        static Outcome failure() {
+            return new Outcome(false, -1, -1);
+        }
+
+        /**
+         * Outcome of a response: 2xx succeeds, anything else fails.
+         * Reads Retry-After (seconds or HTTP date) and Cache-Control max-age.
+         */
+        static Outcome of(HttpResponse<?> response) {
+            boolean success = response.statusCode() / 100 == 2;
+            long retryAfter = response.headers().firstValue("Retry-After")
+                .map(Outcome::parseRetryAfter).orElse(-1L);
+            long maxAge = response.headers().firstValue("Cache-Control")
+                .map(Outcome::parseMaxAge).orElse(-1L);
+            return new Outcome(success, retryAfter, maxAge);
+        }
+
+        private static long parseRetryAfter(String value) {
+            try {
+                return TimeUnit.SECONDS.toMillis(Long.parseLong(value.trim()));
+            } catch (NumberFormatException e) {
+                try {
+                    ZonedDateTime at = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                    return Math.max(0, at.toInstant().toEpochMilli() - System.currentTimeMillis());
+                } catch (RuntimeException ignored) {
+                    return -1;
+                }
+            }
+        }
+
+        private static long parseMaxAge(String value) {
+            for (String directive : value.toLowerCase(Locale.ROOT).split(",")) {
+                directive = directive.trim();
+                if (directive.startsWith("max-age=")) {
+                    try {
+                        return TimeUnit.SECONDS.toMillis(Long.parseLong(directive.substring(8).replace("\"", "")));
+                    } catch (NumberFormatException e) {
+                        return -1;
+                    }
+                }
+            }
+            return -1;
+        }
+    }
+}
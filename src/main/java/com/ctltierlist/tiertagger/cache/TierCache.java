@@ -2,17 +2,58 @@ package com.ctltierlist.tiertagger.cache;
 
 import com.ctltierlist.tiertagger.api.TierListAPI;
 
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 public class TierCache {
+    private static final int MAX_PREFETCHED = 1024;
+
+    // Profiles fetched ahead of time for listed players while the leaderboard downloads
+    private static final Map<String, TierListAPI.PlayerTierData> prefetched = new ConcurrentHashMap<>();
 
     /**
      * Get tier data for a player from OverallCache only.
-     * No fallback API calls - only ranked players will show tiers.
+     * No fallback API calls - only ranked players will show tiers. Until the first complete
+     * leaderboard is loaded, profiles prefetched from the player list fill the gap.
      */
     public static TierListAPI.PlayerTierData getTierData(String playerName) {
         if (playerName == null || playerName.isEmpty()) {
             return null;
         }
-        return OverallCache.getPlayer(playerName);
+        TierListAPI.PlayerTierData data = OverallCache.getPlayer(playerName);
+        if (data == null && !prefetched.isEmpty()) {
+            if (isLeaderboardLoaded()) {
+                prefetched.clear();
+            } else {
+                data = prefetched.get(playerName.toLowerCase(Locale.ROOT));
+            }
+        }
+        return data;
+    }
+
+    /**
+     * Whether a complete leaderboard is loaded, so every ranked player is covered without prefetching
+     */
+    public static boolean isLeaderboardLoaded() {
+        LeaderboardSnapshot snapshot = OverallCache.getSnapshot();
+        return snapshot.isComplete() && snapshot.size() > 0;
+    }
+
+    /**
+     * Store a prefetched profile. Ignored once the leaderboard is loaded or the cap is reached.
+     */
+    public static void putPrefetched(String playerName, TierListAPI.PlayerTierData data) {
+        if (data != null && prefetched.size() < MAX_PREFETCHED && !isLeaderboardLoaded()) {
+            prefetched.put(playerName.toLowerCase(Locale.ROOT), data);
+        }
+    }
+
+    /**
+     * Drop prefetched profiles (e.g. when leaving a server)
+     */
+    public static void clearPrefetched() {
+        prefetched.clear();
     }
 
     /**
@@ -0,0 +1,124 @@
+package com.ctltierlist.tiertagger.cache;
+
+import com.ctltierlist.tiertagger.api.Tier;
+
+/**
+ * Secondary index of one gamemode: ranked player ordinals sorted by tier, then overall rank.
+ * Each tier occupies one contiguous bucket, so tier counts, "rank within gamemode" and
+ * percentiles are answered from the offsets table without scanning players.
+ */
+public final class TierIndex {
+    // Active HT1..LT5, then retired HT1..LT5
+    static final int BUCKETS = Tier.COUNT * 2;
+
+    private final String gamemode;
+    private final int[] ordinals;
+    private final int[] offsets;
+    private final int[] positions;
+
+    /**
+     * Counting sort over tier buckets. Ordinals are visited in rank order,
+     * so each bucket ends up sorted by overall rank.
+     */
+    TierIndex(String gamemode, RecordStore store) {
+        this.gamemode = gamemode;
+        int size = store.size();
+        int gamemodeCode = store.gamemodeCode(gamemode);
+        this.positions = new int[size];
+
+        int[] buckets = new int[size];
+        int[] counts = new int[BUCKETS];
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            int bucket = bucketOf(store.tier(ordinal, gamemodeCode));
+            buckets[ordinal] = bucket;
+            if (bucket >= 0) {
+                counts[bucket]++;
+            }
+        }
+
+        this.offsets = new int[BUCKETS + 1];
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            offsets[bucket + 1] = offsets[bucket] + counts[bucket];
+        }
+
+        this.ordinals = new int[offsets[BUCKETS]];
+        int[] next = new int[BUCKETS];
+        System.arraycopy(offsets, 0, next, 0, BUCKETS);
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            int bucket = buckets[ordinal];
+            if (bucket < 0) {
+                positions[ordinal] = -1;
+                continue;
+            }
+            int position = next[bucket]++;
+            ordinals[position] = ordinal;
+            positions[ordinal] = position;
+        }
+    }
+
+    static int bucketOf(Tier tier) {
+        if (!tier.isRanked()) {
+            return -1;
+        }
+        return tier.isRetired() ? Tier.COUNT + tier.index() : tier.index();
+    }
+
+    public String getGamemode() {
+        return gamemode;
+    }
+
+    /**
+     * Number of ranked (active or retired) players in this gamemode
+     */
+    public int size() {
+        return ordinals.length;
+    }
+
+    /**
+     * Ordinal of the player at a position, 0 being the best in this gamemode
+     */
+    public int ordinalAt(int position) {
+        return ordinals[position];
+    }
+
+    /**
+     * Position of a player within this gamemode, or -1 if unranked in it
+     */
+    public int positionOf(int ordinal) {
+        return ordinal >= 0 && ordinal < positions.length ? positions[ordinal] : -1;
+    }
+
+    /**
+     * First position holding the tier
+     */
+    public int startOf(Tier tier) {
+        int bucket = bucketOf(tier);
+        return bucket >= 0 ? offsets[bucket] : ordinals.length;
+    }
+
+    /**
+     * Position after the last player holding the tier
+     */
+    public int endOf(Tier tier) {
+        int bucket = bucketOf(tier);
+        return bucket >= 0 ? offsets[bucket + 1] : ordinals.length;
+    }
+
+    public int count(Tier tier) {
+        return endOf(tier) - startOf(tier);
+    }
+
+    /**
+     * Fraction of ranked players holding this tier or better, e.g. 0.05 for "top 5%"
+     */
+    public double topFraction(Tier tier) {
+        return ordinals.length == 0 ? 0 : endOf(tier) / (double) ordinals.length;
+    }
+
+    /**
+     * Copy of all ordinals in tier order
+     */
+    public int[] toArray() {
+        return ordinals.clone();
+    }
+}
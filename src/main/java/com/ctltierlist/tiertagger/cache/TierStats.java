@@ -0,0 +1,181 @@
+package com.ctltierlist.tiertagger.cache;
+
+import com.ctltierlist.tiertagger.api.Tier;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Aggregated statistics of one snapshot: tier histograms per gamemode and region,
+ * and points quantiles. Computed once at ingest in a parallel pass over chunks of
+ * players, so UI lookups are plain array reads.
+ */
+public final class TierStats {
+    private static final int CHUNK_SIZE = 1024;
+
+    private final Map<String, Integer> gamemodeCodes = new HashMap<>();
+    private final Map<String, Integer> regionCodes = new HashMap<>();
+    private final int gamemodeCount;
+    private final int regionCount;
+
+    // counts[(region * gamemodes + gamemode) * BUCKETS + bucket]
+    private final int[] regionCounts;
+    // Same histograms summed over regions, plus cumulative sums for "top X%"
+    private final int[] counts;
+    private final int[] cumulative;
+    private final int[] rankedTotals;
+
+    // Points sorted ascending, and every percentile 0..100 precomputed
+    private final int[] sortedPoints;
+    private final int[] pointsPercentiles = new int[101];
+
+    /**
+     * Gamemode and region codes are the record store's dictionary codes
+     */
+    TierStats(RecordStore store) {
+        List<String> gamemodes = store.gamemodes();
+        List<String> regions = store.regions();
+        int size = store.size();
+        this.gamemodeCount = gamemodes.size();
+        this.regionCount = regions.size();
+        for (int i = 0; i < gamemodeCount; i++) {
+            gamemodeCodes.put(gamemodes.get(i), i);
+        }
+        for (int i = 0; i < regionCount; i++) {
+            regionCodes.put(regions.get(i), i);
+        }
+
+        // One partial histogram per chunk, merged pairwise
+        int stride = gamemodeCount * TierIndex.BUCKETS;
+        int chunks = (size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        this.regionCounts = IntStream.range(0, chunks).parallel()
+            .mapToObj(chunk -> {
+                int[] partial = new int[regionCount * stride];
+                int end = Math.min(size, (chunk + 1) * CHUNK_SIZE);
+                for (int ordinal = chunk * CHUNK_SIZE; ordinal < end; ordinal++) {
+                    int base = store.regionCode(ordinal) * stride;
+                    for (int g = 0; g < gamemodeCount; g++) {
+                        int bucket = TierIndex.bucketOf(store.tier(ordinal, g));
+                        if (bucket >= 0) {
+                            partial[base + g * TierIndex.BUCKETS + bucket]++;
+                        }
+                    }
+                }
+                return partial;
+            })
+            .reduce((a, b) -> {
+                for (int i = 0; i < a.length; i++) {
+                    a[i] += b[i];
+                }
+                return a;
+            })
+            .orElseGet(() -> new int[regionCount * stride]);
+
+        this.counts = new int[stride];
+        for (int r = 0; r < regionCount; r++) {
+            for (int i = 0; i < stride; i++) {
+                counts[i] += regionCounts[r * stride + i];
+            }
+        }
+        this.cumulative = new int[stride];
+        this.rankedTotals = new int[gamemodeCount];
+        for (int g = 0; g < gamemodeCount; g++) {
+            int sum = 0;
+            for (int b = 0; b < TierIndex.BUCKETS; b++) {
+                sum += counts[g * TierIndex.BUCKETS + b];
+                cumulative[g * TierIndex.BUCKETS + b] = sum;
+            }
+            rankedTotals[g] = sum;
+        }
+
+        this.sortedPoints = new int[size];
+        for (int i = 0; i < size; i++) {
+            sortedPoints[i] = store.points(i);
+        }
+        // Plain sort: parallelSort would always use the common pool, not the ingest pool
+        Arrays.sort(sortedPoints);
+        if (sortedPoints.length > 0) {
+            for (int p = 0; p <= 100; p++) {
+                pointsPercentiles[p] = sortedPoints[(int) ((sortedPoints.length - 1) * (long) p / 100)];
+            }
+        }
+    }
+
+    private int slot(String gamemode, Tier tier) {
+        Integer g = gamemodeCodes.get(gamemode);
+        int bucket = TierIndex.bucketOf(tier);
+        return g == null || bucket < 0 ? -1 : g * TierIndex.BUCKETS + bucket;
+    }
+
+    /**
+     * Number of players holding a tier in a gamemode
+     */
+    public int count(String gamemode, Tier tier) {
+        int slot = slot(gamemode, tier);
+        return slot >= 0 ? counts[slot] : 0;
+    }
+
+    /**
+     * Number of players of one region holding a tier in a gamemode
+     */
+    public int count(String gamemode, Tier tier, String region) {
+        int slot = slot(gamemode, tier);
+        Integer r = regionCodes.get(region);
+        return slot >= 0 && r != null ? regionCounts[r * gamemodeCount * TierIndex.BUCKETS + slot] : 0;
+    }
+
+    /**
+     * Number of players ranked (active or retired) in a gamemode
+     */
+    public int rankedCount(String gamemode) {
+        Integer g = gamemodeCodes.get(gamemode);
+        return g != null ? rankedTotals[g] : 0;
+    }
+
+    /**
+     * Fraction of a gamemode's ranked players holding this tier or better
+     */
+    public double topFraction(String gamemode, Tier tier) {
+        int slot = slot(gamemode, tier);
+        if (slot < 0) {
+            return 0;
+        }
+        int total = rankedTotals[slot / TierIndex.BUCKETS];
+        return total == 0 ? 0 : cumulative[slot] / (double) total;
+    }
+
+    /**
+     * Points value at a percentile (0 = lowest, 100 = highest)
+     */
+    public int pointsPercentile(int percentile) {
+        return pointsPercentiles[Math.max(0, Math.min(100, percentile))];
+    }
+
+    public int medianPoints() {
+        return pointsPercentile(50);
+    }
+
+    /**
+     * Fraction of players with at least this many points, e.g. 0.1 for "top 10%"
+     */
+    public double pointsTopFraction(int points) {
+        if (sortedPoints.length == 0) {
+            return 0;
+        }
+        // First index holding a value >= points
+        int lo = 0;
+        int hi = sortedPoints.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sortedPoints[mid] < points) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return (sortedPoints.length - lo) / (double) sortedPoints.length;
+    }
+}
@@ -1,6 +1,8 @@
 package com.ctltierlist.tiertagger.config;
 
 import com.ctltierlist.tiertagger.CTLTierTagger;
+import com.ctltierlist.tiertagger.api.EndpointPool;
+import com.ctltierlist.tiertagger.api.Tier;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonObject;
@@ -9,6 +11,11 @@ import java.io.File;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 
 public class ModConfig {
     private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
@@ -21,6 +28,9 @@ public class ModConfig {
     private static boolean debugMode = false;
     private static String selectedGamemode = "Sword";
     private static boolean showHighestTier = false;
+    private static String residentRegions = ""; // Comma-separated, empty keeps every region
+    private static int ingestParallelism = 0; // Leaderboard ingest threads, 0 = automatic
+    private static String apiEndpoints = EndpointPool.DEFAULT_BASE_URL; // Comma-separated API base URLs (primary and mirrors)
     
     // Tier colors (Exact TierTagger colors)
     private static int colorHT1 = 0xe8ba3a;
@@ -78,6 +88,10 @@ public class ModConfig {
             if (json.has("debugMode")) debugMode = json.get("debugMode").getAsBoolean();
             if (json.has("selectedGamemode")) selectedGamemode = json.get("selectedGamemode").getAsString();
             if (json.has("showHighestTier")) showHighestTier = json.get("showHighestTier").getAsBoolean();
+            if (json.has("residentRegions")) residentRegions = json.get("residentRegions").getAsString();
+            if (json.has("ingestParallelism")) ingestParallelism = json.get("ingestParallelism").getAsInt();
+            if (json.has("apiEndpoints")) apiEndpoints = json.get("apiEndpoints").getAsString();
+            EndpointPool.setEndpoints(getApiEndpoints());
             
             // Load tier colors
             if (json.has("colorHT1")) colorHT1 = json.get("colorHT1").getAsInt();
@@ -132,6 +146,9 @@ public class ModConfig {
             json.addProperty("debugMode", debugMode);
             json.addProperty("selectedGamemode", selectedGamemode);
             json.addProperty("showHighestTier", showHighestTier);
+            json.addProperty("residentRegions", residentRegions);
+            json.addProperty("ingestParallelism", ingestParallelism);
+            json.addProperty("apiEndpoints", apiEndpoints);
             
             // Save tier colors
             json.addProperty("colorHT1", colorHT1);
@@ -186,6 +203,8 @@ public class ModConfig {
     public static boolean isDebugMode() { return debugMode; }
     public static String getSelectedGamemode() { return selectedGamemode; }
     public static boolean shouldShowHighestTier() { return showHighestTier; }
+    public static String getResidentRegionsString() { return residentRegions; }
+    public static String getApiEndpointsString() { return apiEndpoints; }
     
     // Color getters
     public static int getColorHT1() { return colorHT1; }
@@ -230,6 +249,9 @@ public class ModConfig {
     public static void setDebugMode(boolean value) { debugMode = value; save(); }
     public static void setSelectedGamemode(String value) { selectedGamemode = value; save(); }
     public static void setShowHighestTier(boolean value) { showHighestTier = value; save(); }
+    public static void setResidentRegions(String value) { residentRegions = value; save(); }
+    public static void setIngestParallelism(int value) { ingestParallelism = value; save(); }
+    public static void setApiEndpoints(String value) { apiEndpoints = value; EndpointPool.setEndpoints(getApiEndpoints()); save(); }
     
     // Color setters
     public static void setColorHT1(int value) { colorHT1 = value; save(); }
@@ -269,22 +291,28 @@ public class ModConfig {
     
     // Helper method to get tier color by name
     public static int getTierColor(String tier) {
-        // Handle retired tiers (e.g., "RHT3" -> use retired color)
-        if (tier.startsWith("R")) {
+        return getTierColor(Tier.parse(tier));
+    }
+    
+    // Helper method to get tier color, resolved by color slot (no string matching)
+    public static int getTierColor(Tier tier) {
+        if (tier.isRetired()) {
             return 0x808080; // TierTagger retired color (gray)
         }
         
-        if (tier.startsWith("HT1")) return colorHT1;
-        else if (tier.startsWith("LT1")) return colorLT1;
-        else if (tier.startsWith("HT2")) return colorHT2;
-        else if (tier.startsWith("LT2")) return colorLT2;
-        else if (tier.startsWith("HT3")) return colorHT3;
-        else if (tier.startsWith("LT3")) return colorLT3;
-        else if (tier.startsWith("HT4")) return colorHT4;
-        else if (tier.startsWith("LT4")) return colorLT4;
-        else if (tier.startsWith("HT5")) return colorHT5;
-        else if (tier.startsWith("LT5")) return colorLT5;
-        return 0xD3D3D3; // Default gray
+        return switch (tier.index()) {
+            case 0 -> colorHT1;
+            case 1 -> colorLT1;
+            case 2 -> colorHT2;
+            case 3 -> colorLT2;
+            case 4 -> colorHT3;
+            case 5 -> colorLT3;
+            case 6 -> colorHT4;
+            case 7 -> colorLT4;
+            case 8 -> colorHT5;
+            case 9 -> colorLT5;
+            default -> 0xD3D3D3; // Default gray
+        };
     }
     
     // Gamemode utilities
@@ -292,6 +320,44 @@ public class ModConfig {
         return new String[]{"Sword", "Crystal", "Netherite", "Potion", "Mace", "UHC", "Axe", "SMP", "DiaSMP"};
     }
     
+    /**
+     * Regions whose players are kept in the leaderboard cache, upper-cased.
+     * Empty means all regions. Applied on the next cache load.
+     */
+    public static Set<String> getResidentRegions() {
+        Set<String> regions = new LinkedHashSet<>();
+        for (String region : residentRegions.split(",")) {
+            if (!region.isBlank()) {
+                regions.add(region.trim().toUpperCase(Locale.ROOT));
+            }
+        }
+        return regions;
+    }
+    
+    /**
+     * Thread cap for leaderboard ingestion. Automatic leaves half the cores
+     * (at most 4 used) to chunk building and the render thread.
+     */
+    public static int getIngestParallelism() {
+        if (ingestParallelism > 0) {
+            return ingestParallelism;
+        }
+        return Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+    }
+    
+    /**
+     * API base URLs to route requests across, in configured order
+     */
+    public static List<String> getApiEndpoints() {
+        List<String> endpoints = new ArrayList<>();
+        for (String endpoint : apiEndpoints.split(",")) {
+            if (!endpoint.isBlank()) {
+                endpoints.add(endpoint.trim());
+            }
+        }
+        return endpoints;
+    }
+    
     public static void cycleGamemode() {
         String[] gamemodes = getAvailableGamemodes();
         int currentIndex = 0;
@@ -307,32 +373,48 @@ public class ModConfig {
     
     // Helper method to get gradient color by tier name
     public static int getGradientColor(String tier) {
-        if (tier.startsWith("HT1")) return gradientColorHT1;
-        else if (tier.startsWith("LT1")) return gradientColorLT1;
-        else if (tier.startsWith("HT2")) return gradientColorHT2;
-        else if (tier.startsWith("LT2")) return gradientColorLT2;
-        else if (tier.startsWith("HT3")) return gradientColorHT3;
-        else if (tier.startsWith("LT3")) return gradientColorLT3;
-        else if (tier.startsWith("HT4")) return gradientColorHT4;
-        else if (tier.startsWith("LT4")) return gradientColorLT4;
-        else if (tier.startsWith("HT5")) return gradientColorHT5;
-        else if (tier.startsWith("LT5")) return gradientColorLT5;
-        return 0xAAAAAA; // Default gray
+        return getGradientColor(Tier.parse(tier));
+    }
+    
+    public static int getGradientColor(Tier tier) {
+        return switch (tier.index()) {
+            case 0 -> gradientColorHT1;
+            case 1 -> gradientColorLT1;
+            case 2 -> gradientColorHT2;
+            case 3 -> gradientColorLT2;
+            case 4 -> gradientColorHT3;
+            case 5 -> gradientColorLT3;
+            case 6 -> gradientColorHT4;
+            case 7 -> gradientColorLT4;
+            case 8 -> gradientColorHT5;
+            case 9 -> gradientColorLT5;
+            default -> 0xAAAAAA; // Default gray
+        };
     }
     
     // Helper method to check if gradient is enabled for a tier
     public static boolean isGradientEnabled(String tier) {
-        if (tier.startsWith("HT1")) return gradientEnabledHT1;
-        else if (tier.startsWith("LT1")) return gradientEnabledLT1;
-        else if (tier.startsWith("HT2")) return gradientEnabledHT2;
-        else if (tier.startsWith("LT2")) return gradientEnabledLT2;
-        else if (tier.startsWith("HT3")) return gradientEnabledHT3;
-        else if (tier.startsWith("LT3")) return gradientEnabledLT3;
-        else if (tier.startsWith("HT4")) return gradientEnabledHT4;
-        else if (tier.startsWith("LT4")) return gradientEnabledLT4;
-        else if (tier.startsWith("HT5")) return gradientEnabledHT5;
-        else if (tier.startsWith("LT5")) return gradientEnabledLT5;
-        return false;
+        return isGradientEnabled(Tier.parse(tier));
+    }
+    
+    public static boolean isGradientEnabled(Tier tier) {
+        if (tier.isRetired()) {
+            return false; // Retired tiers always render in flat gray
+        }
+        
+        return switch (tier.index()) {
+            case 0 -> gradientEnabledHT1;
+            case 1 -> gradientEnabledLT1;
+            case 2 -> gradientEnabledHT2;
+            case 3 -> gradientEnabledLT2;
+            case 4 -> gradientEnabledHT3;
+            case 5 -> gradientEnabledLT3;
+            case 6 -> gradientEnabledHT4;
+            case 7 -> gradientEnabledLT4;
+            case 8 -> gradientEnabledHT5;
+            case 9 -> gradientEnabledLT5;
+            default -> false;
+        };
     }
     
     // Reset all settings to defaults
@@ -343,6 +425,10 @@ public class ModConfig {
         debugMode = false;
         selectedGamemode = "Sword";
         showHighestTier = false;
+        residentRegions = "";
+        ingestParallelism = 0;
+        apiEndpoints = EndpointPool.DEFAULT_BASE_URL;
+        EndpointPool.setEndpoints(getApiEndpoints());
         resetColorsToDefaults();
         save();
     }